@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# Measures backend cold-start time with keyword resources loaded during
+# context refresh (background-init=false) and in the background (true).
+#
+# Usage: mvn -DskipTests package && scripts/startup-timing.sh [runs]
+#
+# Each run starts the packaged jar against an in-memory H2 database on a
+# random port, records when Spring reports the application started, when the
+# keyword resources became ready and when the search indexes (trigram, keyword,
+# duplicate) were built (all in ms after JVM start), then stops it.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-5}
+JAR=$(ls target/lost-and-found-*.jar 2>/dev/null | grep -v '\.original$' | head -n 1 || true)
+if [ -z "$JAR" ]; then
+  echo "No jar in target/, run 'mvn -DskipTests package' first" >&2
+  exit 1
+fi
+
+export APP_MAIL_USERNAME=${APP_MAIL_USERNAME:-}
+export APP_MAIL_PASSWORD=${APP_MAIL_PASSWORD:-}
+export GOOGLE_API_KEY=${GOOGLE_API_KEY:-}
+
+run_once() {
+  local background=$1 log
+  log=$(mktemp)
+  java -jar "$JAR" \
+    --server.port=0 \
+    --spring.datasource.url="jdbc:h2:mem:startup$$;DB_CLOSE_DELAY=-1" \
+    --spring.datasource.driver-class-name=org.h2.Driver \
+    --spring.datasource.username=sa \
+    --spring.datasource.password= \
+    --spring.jpa.hibernate.ddl-auto=create-drop \
+    --spring.jpa.database-platform=org.hibernate.dialect.H2Dialect \
+    --app.keywords.background-init="$background" >"$log" 2>&1 &
+  local pid=$!
+  local started="" ready="" indexes=""
+  for _ in $(seq 1 600); do
+    started=$(sed -n 's/.*Started LostAndFoundApplication in \([0-9.]*\) seconds.*/\1/p' "$log" | head -n 1)
+    ready=$(sed -n 's/.*Keyword resources ready in [0-9]* ms (\([0-9]*\) ms after JVM start).*/\1/p' "$log" | head -n 1)
+    indexes=$(sed -n 's/.*Search indexes ready in [0-9]* ms (\([0-9]*\) ms after JVM start).*/\1/p' "$log" | head -n 1)
+    if [ -n "$started" ] && [ -n "$ready" ] && [ -n "$indexes" ]; then break; fi
+    if ! kill -0 "$pid" 2>/dev/null; then break; fi
+    sleep 0.5
+  done
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  if [ -z "$started" ] || [ -z "$ready" ] || [ -z "$indexes" ]; then
+    echo "Run failed, see $log" >&2
+    return 1
+  fi
+  rm -f "$log"
+  # Spring reports seconds; print all values in ms
+  awk -v s="$started" -v r="$ready" -v i="$indexes" 'BEGIN { printf "%d %d %d\n", s * 1000, r, i }'
+}
+
+for background in false true; do
+  total_started=0
+  total_ready=0
+  total_indexes=0
+  for i in $(seq 1 "$RUNS"); do
+    read -r started ready indexes < <(run_once "$background")
+    echo "background-init=$background run $i: started ${started} ms, keyword resources ready ${ready} ms," \
+      "search indexes ready ${indexes} ms"
+    total_started=$((total_started + started))
+    total_ready=$((total_ready + ready))
+    total_indexes=$((total_indexes + indexes))
+  done
+  echo "background-init=$background average: started $((total_started / RUNS)) ms," \
+    "keyword resources ready $((total_ready / RUNS)) ms, search indexes ready $((total_indexes / RUNS)) ms"
+done
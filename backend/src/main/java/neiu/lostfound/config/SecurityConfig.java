@@ -47,6 +47,7 @@ public class SecurityConfig {
                 .headers(headers -> headers.frameOptions().sameOrigin())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**", "/h2-console/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/items/lost").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/items/lost/my").authenticated()
                         .anyRequest().hasRole("ADMIN")
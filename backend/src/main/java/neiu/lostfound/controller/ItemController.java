@@ -2,7 +2,11 @@ package neiu.lostfound.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import neiu.lostfound.dto.DuplicateResult;
 import neiu.lostfound.dto.FoundItemRequest;
+import neiu.lostfound.dto.FoundItemWithMatches;
+import neiu.lostfound.dto.FoundItemWithMatchesPage;
+import neiu.lostfound.dto.ItemPage;
 import neiu.lostfound.dto.LostItemRequest;
 import neiu.lostfound.model.LostItem;
 import neiu.lostfound.model.FoundItem;
@@ -10,25 +14,43 @@ import neiu.lostfound.service.ItemService;
 import neiu.lostfound.service.MatchingService;
 import neiu.lostfound.model.ItemMatch;
 import neiu.lostfound.model.ReturnedItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
   private static final Logger log = LoggerFactory.getLogger(ItemController.class);
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final Set<String> LOST_SORT_FIELDS =
+      Set.of("id", "title", "location", "dateLost", "category", "subcategory", "status");
+  private static final Set<String> FOUND_SORT_FIELDS =
+      Set.of("id", "title", "location", "dateFound", "category", "subcategory", "status");
   private final ItemService items;
   private final MatchingService matchingService;
+  private final ObjectMapper objectMapper;
 
-  public ItemController(ItemService items, MatchingService matchingService) {
+  public ItemController(ItemService items, MatchingService matchingService, ObjectMapper objectMapper) {
     this.items = items;
     this.matchingService = matchingService;
+    this.objectMapper = objectMapper;
   }
 
   @GetMapping("/lost/my")
@@ -76,32 +98,123 @@ public class ItemController {
   }
 
   @GetMapping("/lost")
-  public ResponseEntity<List<LostItem>> searchLost(@RequestParam(required = false, name = "q") String q,
-                                                  @RequestParam(required = false, name = "category") String category,
-                                                  @RequestParam(required = false, name = "subcategory") String subcategory,
-                                                  @RequestParam(required = false, name = "status") String status) {
-    log.info("Searching lost items by keyword: {}, category: {}, subcategory: {}, status: {}", q, category, subcategory, status);
-    List<LostItem> results = items.searchLostItems(q, category, subcategory, status);
-    return ResponseEntity.ok(results);
+  public ResponseEntity<?> searchLost(@RequestParam(required = false, name = "q") String q,
+                                      @RequestParam(required = false, name = "category") String category,
+                                      @RequestParam(required = false, name = "subcategory") String subcategory,
+                                      @RequestParam(required = false, name = "status") String status,
+                                      @RequestParam(name = "page", defaultValue = "0") int page,
+                                      @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                      @RequestParam(required = false, name = "sort") String sort) {
+    log.info("Searching lost items by keyword: {}, category: {}, subcategory: {}, status: {}, page: {}, size: {}, sort: {}",
+        q, category, subcategory, status, page, size, sort);
+    try {
+      Pageable pageable = pageRequest(page, size, sortOrDefault(q, sort), LOST_SORT_FIELDS);
+      return ResponseEntity.ok(new ItemPage<>(items.searchLostItems(q, category, subcategory, status, pageable)));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(400).body(e.getMessage());
+    }
   }
 
   @GetMapping("/found")
-  public ResponseEntity<List<FoundItem>> searchFound(@RequestParam(required = false, name = "q") String q,
-                                                    @RequestParam(required = false, name = "category") String category,
-                                                    @RequestParam(required = false, name = "subcategory") String subcategory,
-                                                    @RequestParam(required = false, name = "status") String status) {
-    log.info("Searching found items by keyword: {}, category: {}, subcategory: {}, status: {}", q, category, subcategory, status);
-    List<FoundItem> results = items.searchFoundItems(q, category, subcategory, status);
-    return ResponseEntity.ok(results);
+  public ResponseEntity<?> searchFound(@RequestParam(required = false, name = "q") String q,
+                                       @RequestParam(required = false, name = "category") String category,
+                                       @RequestParam(required = false, name = "subcategory") String subcategory,
+                                       @RequestParam(required = false, name = "status") String status,
+                                       @RequestParam(name = "page", defaultValue = "0") int page,
+                                       @RequestParam(name = "size", defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                       @RequestParam(required = false, name = "sort") String sort) {
+    log.info("Searching found items by keyword: {}, category: {}, subcategory: {}, status: {}, page: {}, size: {}, sort: {}",
+        q, category, subcategory, status, page, size, sort);
+    try {
+      Pageable pageable = pageRequest(page, size, sortOrDefault(q, sort), FOUND_SORT_FIELDS);
+      return ResponseEntity.ok(new ItemPage<>(items.searchFoundItems(q, category, subcategory, status, pageable)));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(400).body(e.getMessage());
+    }
+  }
+
+  /**
+   * Newest first unless a sort is given; keyword searches (q) are ordered by
+   * relevance and are not sorted, so a sort given with q is passed on and rejected
+   */
+  private static String sortOrDefault(String q, String sort) {
+    if (sort != null || (q != null && !q.isBlank())) return sort;
+    return "id,desc";
+  }
+
+  /**
+   * Page request for search; sort is "field" or "field,asc|desc", or null
+   * for an unsorted page. Throws IllegalArgumentException for invalid values.
+   */
+  private static Pageable pageRequest(int page, int size, String sort, Set<String> sortFields) {
+    if (page < 0) {
+      throw new IllegalArgumentException("page must not be negative");
+    }
+    if (size < 1 || size > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+    }
+    if (sort == null) {
+      return PageRequest.of(page, size);
+    }
+    String[] parts = sort.split(",");
+    String field = parts[0].trim();
+    if (!sortFields.contains(field) || parts.length > 2) {
+      throw new IllegalArgumentException("sort must be one of " + sortFields + ", optionally followed by ,asc or ,desc");
+    }
+    Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1].trim()) : Sort.Direction.ASC;
+    // Ties (e.g. same date) are broken by id so pages never overlap
+    Sort order = field.equals("id") ? Sort.by(direction, "id") : Sort.by(direction, field).and(Sort.by("id"));
+    return PageRequest.of(page, size, order);
   }
 
   @GetMapping("/found/{id}/matches")
-  public ResponseEntity<List<LostItem>> matchLostForFound(@PathVariable("id") Long foundId) {
-    log.info("Finding matches for found item id={}", foundId);
-    List<LostItem> matches = matchingService.findMatchesForFound(foundId);
+  public ResponseEntity<?> matchLostForFound(@PathVariable("id") Long foundId,
+                                             @RequestParam(name = "limit", defaultValue = "10") int limit,
+                                             @RequestParam(name = "minScore", defaultValue = "0") int minScore) {
+    log.info("Finding matches for found item id={}, limit={}, minScore={}", foundId, limit, minScore);
+    String invalid = validateMatchParams(limit, minScore);
+    if (invalid != null) {
+      return ResponseEntity.status(400).body(invalid);
+    }
+    List<LostItem> matches = matchingService.findMatchesForFound(foundId, limit, minScore);
+    return ResponseEntity.ok(matches);
+  }
+
+  @GetMapping("/lost/{id}/matches")
+  public ResponseEntity<?> matchFoundForLost(@PathVariable("id") Long lostId,
+                                             @RequestParam(name = "limit", defaultValue = "10") int limit,
+                                             @RequestParam(name = "minScore", defaultValue = "0") int minScore) {
+    log.info("Finding matches for lost item id={}, limit={}, minScore={}", lostId, limit, minScore);
+    String invalid = validateMatchParams(limit, minScore);
+    if (invalid != null) {
+      return ResponseEntity.status(400).body(invalid);
+    }
+    List<FoundItem> matches = matchingService.findMatchesForLost(lostId, limit, minScore);
     return ResponseEntity.ok(matches);
   }
 
+  @GetMapping("/lost/{id}/duplicates")
+  public ResponseEntity<?> lostDuplicates(@PathVariable("id") Long lostId,
+                                          @RequestParam(name = "minSimilarity", defaultValue = "50") int minSimilarity) {
+    log.info("Finding duplicates of lost item id={}, minSimilarity={}", lostId, minSimilarity);
+    if (minSimilarity < 0 || minSimilarity > 100) {
+      return ResponseEntity.status(400).body("minSimilarity must be between 0 and 100");
+    }
+    List<DuplicateResult<LostItem>> duplicates = items.findLostDuplicates(lostId, minSimilarity / 100.0);
+    return ResponseEntity.ok(duplicates);
+  }
+
+  @GetMapping("/found/{id}/duplicates")
+  public ResponseEntity<?> foundDuplicates(@PathVariable("id") Long foundId,
+                                           @RequestParam(name = "minSimilarity", defaultValue = "50") int minSimilarity) {
+    log.info("Finding duplicates of found item id={}, minSimilarity={}", foundId, minSimilarity);
+    if (minSimilarity < 0 || minSimilarity > 100) {
+      return ResponseEntity.status(400).body("minSimilarity must be between 0 and 100");
+    }
+    List<DuplicateResult<FoundItem>> duplicates = items.findFoundDuplicates(foundId, minSimilarity / 100.0);
+    return ResponseEntity.ok(duplicates);
+  }
+
   @PostMapping("/lost/{lostId}/confirm-match/{foundId}")
   public ResponseEntity<?> confirmMatch(@PathVariable("lostId") Long lostId, @PathVariable("foundId") Long foundId) {
     Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -116,10 +229,28 @@ public class ItemController {
   }
 
   @GetMapping("/matches/all")
-  public ResponseEntity<?> getAllMatches() {
-    log.info("Fetching all found items with matches and confidence scores");
+  public ResponseEntity<?> getAllMatches(@RequestParam(name = "limit", defaultValue = "10") int limit,
+                                         @RequestParam(name = "minScore", defaultValue = "0") int minScore,
+                                         @RequestParam(name = "cursor", required = false) Long cursor,
+                                         @RequestParam(name = "pageSize", required = false) Integer pageSize) {
+    log.info("Fetching all found items with matches and confidence scores (limit={}, minScore={}, cursor={}, pageSize={})",
+        limit, minScore, cursor, pageSize);
+    String invalid = validateMatchParams(limit, minScore);
+    if (invalid != null) {
+      return ResponseEntity.status(400).body(invalid);
+    }
+    if (pageSize != null && (pageSize < 1 || pageSize > MAX_PAGE_SIZE)) {
+      return ResponseEntity.status(400).body("pageSize must be between 1 and " + MAX_PAGE_SIZE);
+    }
     try {
-      var allMatches = matchingService.getAllFoundItemsWithMatches();
+      if (pageSize != null || cursor != null) {
+        // Cursor pagination: found items ordered by id, next page starts after nextCursor
+        int size = pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+        List<FoundItemWithMatches> page = matchingService.getFoundItemsWithMatchesPage(cursor, size, limit, minScore);
+        Long nextCursor = page.size() < size ? null : page.get(page.size() - 1).getFoundItem().getId();
+        return ResponseEntity.ok(new FoundItemWithMatchesPage(page, nextCursor));
+      }
+      var allMatches = matchingService.getAllFoundItemsWithMatches(limit, minScore);
       return ResponseEntity.ok(allMatches);
     } catch (Exception e) {
       log.error("Error fetching matches: {}", e.getMessage(), e);
@@ -127,6 +258,42 @@ public class ItemController {
     }
   }
   
+  /**
+   * Same items as {@link #getAllMatches} as newline-delimited JSON, one found item
+   * per line, written while they are computed
+   */
+  @GetMapping(value = "/matches/all", params = "format=ndjson", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAllMatches(@RequestParam(name = "limit", defaultValue = "10") int limit,
+                                                                @RequestParam(name = "minScore", defaultValue = "0") int minScore) {
+    log.info("Streaming all found items with matches (limit={}, minScore={})", limit, minScore);
+    String invalid = validateMatchParams(limit, minScore);
+    if (invalid != null) {
+      // Same message as /matches/all; a streaming handler can only return a streamed body
+      return ResponseEntity.status(400).contentType(MediaType.TEXT_PLAIN)
+          .body(out -> out.write(invalid.getBytes(StandardCharsets.UTF_8)));
+    }
+    StreamingResponseBody body = out -> matchingService.forEachFoundItemWithMatches(limit, minScore, item -> {
+      try {
+        out.write(objectMapper.writeValueAsBytes(item));
+        out.write('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /** Error message for invalid limit/minScore parameters of the match endpoints, or null */
+  private static String validateMatchParams(int limit, int minScore) {
+    if (limit < 1) {
+      return "limit must be at least 1";
+    }
+    if (minScore < 0 || minScore > 100) {
+      return "minScore must be between 0 and 100";
+    }
+    return null;
+  }
+
   @PostMapping("/analyze-match/{lostId}/{foundId}")
   public ResponseEntity<?> analyzeMatchWithAI(@PathVariable("lostId") Long lostId, 
                                               @PathVariable("foundId") Long foundId) {
@@ -0,0 +1,47 @@
+package neiu.lostfound.controller;
+
+import neiu.lostfound.dto.ReindexStatus;
+import neiu.lostfound.service.KeywordReindexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/reindex")
+public class ReindexController {
+  private static final Logger log = LoggerFactory.getLogger(ReindexController.class);
+  private final KeywordReindexService reindexService;
+
+  public ReindexController(KeywordReindexService reindexService) {
+    this.reindexService = reindexService;
+  }
+
+  @GetMapping
+  public ResponseEntity<ReindexStatus> status() {
+    return ResponseEntity.ok(reindexService.status());
+  }
+
+  /** Start a keyword re-index, resuming an unfinished one unless restart=true */
+  @PostMapping
+  public ResponseEntity<?> start(@RequestParam(name = "restart", defaultValue = "false") boolean restart) {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    String adminUser = auth.getName();
+    log.info("Keyword re-index requested by {} (restart={})", adminUser, restart);
+    try {
+      return ResponseEntity.status(202).body(reindexService.start(adminUser, restart));
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(409).body(e.getMessage());
+    }
+  }
+
+  @PostMapping("/cancel")
+  public ResponseEntity<ReindexStatus> cancel() {
+    if (!reindexService.cancel()) {
+      return ResponseEntity.status(409).body(reindexService.status());
+    }
+    return ResponseEntity.ok(reindexService.status());
+  }
+}
@@ -0,0 +1,41 @@
+package neiu.lostfound.controller;
+
+import jakarta.validation.Valid;
+import neiu.lostfound.dto.ScoringWeightsRequest;
+import neiu.lostfound.model.ScoringWeights;
+import neiu.lostfound.service.ScoringProfileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/scoring-weights")
+public class ScoringWeightsController {
+  private static final Logger log = LoggerFactory.getLogger(ScoringWeightsController.class);
+  private final ScoringProfileService scoringProfile;
+
+  public ScoringWeightsController(ScoringProfileService scoringProfile) {
+    this.scoringProfile = scoringProfile;
+  }
+
+  @GetMapping
+  public ResponseEntity<ScoringWeights> current() {
+    return ResponseEntity.ok(scoringProfile.current().weights());
+  }
+
+  @PutMapping
+  public ResponseEntity<?> update(@Valid @RequestBody ScoringWeightsRequest req) {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    String adminUser = auth.getName();
+    log.info("Scoring weights update by {}: keyword={}, category={}, subcategory={}, dateSteps={}",
+        adminUser, req.keywordWeight, req.categoryWeight, req.subcategoryWeight, req.dateSteps);
+    try {
+      return ResponseEntity.ok(scoringProfile.update(req, adminUser));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(400).body(e.getMessage());
+    }
+  }
+}
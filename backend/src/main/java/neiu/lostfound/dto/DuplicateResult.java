@@ -0,0 +1,34 @@
+package neiu.lostfound.dto;
+
+/**
+ * A likely duplicate report of a lost or found item, with the estimated
+ * similarity (0-100) of their titles and descriptions.
+ */
+public class DuplicateResult<T> {
+    private T item;
+    private int similarity;
+
+    public DuplicateResult() {}
+
+    public DuplicateResult(T item, int similarity) {
+        this.item = item;
+        this.similarity = similarity;
+    }
+
+    // Getters and setters
+    public T getItem() {
+        return item;
+    }
+
+    public void setItem(T item) {
+        this.item = item;
+    }
+
+    public int getSimilarity() {
+        return similarity;
+    }
+
+    public void setSimilarity(int similarity) {
+        this.similarity = similarity;
+    }
+}
@@ -0,0 +1,32 @@
+package neiu.lostfound.dto;
+
+import java.util.List;
+
+public class FoundItemWithMatchesPage {
+    private List<FoundItemWithMatches> items;
+    private Long nextCursor; // pass as cursor to get the next page, null on the last page
+
+    public FoundItemWithMatchesPage() {}
+
+    public FoundItemWithMatchesPage(List<FoundItemWithMatches> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and setters
+    public List<FoundItemWithMatches> getItems() {
+        return items;
+    }
+
+    public void setItems(List<FoundItemWithMatches> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
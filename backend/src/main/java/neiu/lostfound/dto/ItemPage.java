@@ -0,0 +1,64 @@
+package neiu.lostfound.dto;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public class ItemPage<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public ItemPage() {}
+
+    public ItemPage(Page<T> page) {
+        this.items = page.getContent();
+        this.page = page.getNumber();
+        this.size = page.getSize();
+        this.totalElements = page.getTotalElements();
+        this.totalPages = page.getTotalPages();
+    }
+
+    // Getters and setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public long getTotalElements() {
+        return totalElements;
+    }
+
+    public void setTotalElements(long totalElements) {
+        this.totalElements = totalElements;
+    }
+
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    public void setTotalPages(int totalPages) {
+        this.totalPages = totalPages;
+    }
+}
@@ -0,0 +1,54 @@
+package neiu.lostfound.dto;
+
+import neiu.lostfound.model.ReindexJob;
+
+/** Progress of the latest keyword re-index run */
+public class ReindexStatus {
+    private ReindexJob job;
+    private boolean running;
+    private double percentDone;
+    private double itemsPerSecond; // throughput of the current (or last) run
+
+    public ReindexStatus() {}
+
+    public ReindexStatus(ReindexJob job, boolean running, double itemsPerSecond) {
+        this.job = job;
+        this.running = running;
+        this.percentDone = job == null || job.getTotalItems() == 0 ? 0
+                : Math.min(100.0, 100.0 * job.getProcessedItems() / job.getTotalItems());
+        this.itemsPerSecond = itemsPerSecond;
+    }
+
+    // Getters and setters
+    public ReindexJob getJob() {
+        return job;
+    }
+
+    public void setJob(ReindexJob job) {
+        this.job = job;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public double getPercentDone() {
+        return percentDone;
+    }
+
+    public void setPercentDone(double percentDone) {
+        this.percentDone = percentDone;
+    }
+
+    public double getItemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    public void setItemsPerSecond(double itemsPerSecond) {
+        this.itemsPerSecond = itemsPerSecond;
+    }
+}
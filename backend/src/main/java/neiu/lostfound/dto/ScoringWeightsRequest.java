@@ -0,0 +1,14 @@
+package neiu.lostfound.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public class ScoringWeightsRequest {
+    @NotNull @Min(0)
+    public Integer keywordWeight;
+    @NotNull @Min(0)
+    public Integer categoryWeight;
+    @NotNull @Min(0)
+    public Integer subcategoryWeight;
+    public String dateSteps; // "maxDays:points" pairs, e.g. "0:10,3:7,7:5,14:3"; blank = no date points
+}
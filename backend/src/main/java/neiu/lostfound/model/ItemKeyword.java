@@ -0,0 +1,70 @@
+package neiu.lostfound.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * One keyword of a lost or found item. The primary key (item_type, item_id,
+ * term_id) serves lookups by item; the term index serves "items having any
+ * of these terms" queries.
+ */
+@Entity
+@Table(name = "item_keywords", indexes = {
+    @Index(name = "idx_item_keywords_term", columnList = "term_id, item_type, item_id")
+})
+@IdClass(ItemKeyword.Key.class)
+public class ItemKeyword {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "item_type", length = 5)
+    private ItemType itemType;
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+
+    @Id
+    @Column(name = "term_id")
+    private Long termId;
+
+    public enum ItemType {
+        LOST, FOUND
+    }
+
+    // Getters and setters
+    public ItemType getItemType() { return itemType; }
+    public void setItemType(ItemType itemType) { this.itemType = itemType; }
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+    public Long getTermId() { return termId; }
+    public void setTermId(Long termId) { this.termId = termId; }
+
+    /** Composite primary key */
+    public static class Key implements Serializable {
+        private ItemType itemType;
+        private Long itemId;
+        private Long termId;
+
+        public Key() {}
+
+        public Key(ItemType itemType, Long itemId, Long termId) {
+            this.itemType = itemType;
+            this.itemId = itemId;
+            this.termId = termId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return itemType == other.itemType && Objects.equals(itemId, other.itemId)
+                    && Objects.equals(termId, other.termId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(itemType, itemId, termId);
+        }
+    }
+}
@@ -4,7 +4,12 @@ import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "item_matches")
+@Table(name = "item_matches", uniqueConstraints = {
+    @UniqueConstraint(name = "unique_lost_found_pair", columnNames = {"lost_item_id", "found_item_id"})
+}, indexes = {
+    @Index(name = "idx_item_matches_found_score", columnList = "found_item_id, text_score"),
+    @Index(name = "idx_item_matches_lost_score", columnList = "lost_item_id, text_score")
+})
 public class ItemMatch {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +31,28 @@ public class ItemMatch {
     @Temporal(TemporalType.TIMESTAMP)
     private Date matchedAt;
 
+    // Text-based score and explanation, as computed by the scoring model below
+    @Column(name = "text_score")
+    private Integer textScore;
+
+    @Column(length = 1000)
+    private String textReason;
+
+    @Column(length = 50)
+    private String scoringModel; // keyword scorer + formula version; stale when it differs from the current one
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date computedAt;
+
+    // Result of the last on-demand AI analysis, if any
+    private Integer aiScore;
+
+    @Column(columnDefinition = "TEXT")
+    private String aiReasoning;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date aiAnalyzedAt;
+
     public enum Status {
         TENTATIVE, CONFIRMED
     }
@@ -43,4 +70,18 @@ public class ItemMatch {
     public void setMatchedBy(String matchedBy) { this.matchedBy = matchedBy; }
     public Date getMatchedAt() { return matchedAt; }
     public void setMatchedAt(Date matchedAt) { this.matchedAt = matchedAt; }
+    public Integer getTextScore() { return textScore; }
+    public void setTextScore(Integer textScore) { this.textScore = textScore; }
+    public String getTextReason() { return textReason; }
+    public void setTextReason(String textReason) { this.textReason = textReason; }
+    public String getScoringModel() { return scoringModel; }
+    public void setScoringModel(String scoringModel) { this.scoringModel = scoringModel; }
+    public Date getComputedAt() { return computedAt; }
+    public void setComputedAt(Date computedAt) { this.computedAt = computedAt; }
+    public Integer getAiScore() { return aiScore; }
+    public void setAiScore(Integer aiScore) { this.aiScore = aiScore; }
+    public String getAiReasoning() { return aiReasoning; }
+    public void setAiReasoning(String aiReasoning) { this.aiReasoning = aiReasoning; }
+    public Date getAiAnalyzedAt() { return aiAnalyzedAt; }
+    public void setAiAnalyzedAt(Date aiAnalyzedAt) { this.aiAnalyzedAt = aiAnalyzedAt; }
 }
\ No newline at end of file
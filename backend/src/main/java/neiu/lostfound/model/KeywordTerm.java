@@ -0,0 +1,23 @@
+package neiu.lostfound.model;
+
+import jakarta.persistence.*;
+
+/** Dictionary of every keyword used by an item; item_keywords refers to terms by id */
+@Entity
+@Table(name = "keyword_terms", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_keyword_terms_term", columnNames = {"term"})
+})
+public class KeywordTerm {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String term;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getTerm() { return term; }
+    public void setTerm(String term) { this.term = term; }
+}
@@ -1,12 +1,15 @@
 package neiu.lostfound.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "lost_items")
+@Table(name = "lost_items", indexes = {
+    @Index(name = "idx_lost_items_status_category", columnList = "status, category, subcategory")
+})
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class LostItem {
     @Id
@@ -43,8 +46,11 @@ public class LostItem {
     @Column(length = 10)
     private Status status;
 
-    @Column(length = 255)
-    private String keywords; // comma-separated keywords for matching
+    @Column(columnDefinition = "TEXT")
+    private String keywords; // comma-separated keywords, also stored row-wise in item_keywords
+
+    @Column(name = "keywords_pending")
+    private Boolean keywordsPending; // true until keywords were extracted in the background
 
     @Column(length = 100)
     private String category;
@@ -52,6 +58,14 @@ public class LostItem {
     @Column(length = 100)
     private String subcategory;
 
+    @JsonIgnore
+    @Column(name = "epoch_day")
+    private Integer epochDay; // dateLost as days since 1970-01-01, set when the item is stored
+
+    @JsonIgnore
+    @Column(length = 512)
+    private byte[] minhash; // MinHash signature of title + description for duplicate detection
+
     public enum Status {
         OPEN, MATCHED, RETURNED
     }
@@ -79,8 +93,14 @@ public class LostItem {
     public void setStatus(Status status) { this.status = status; }
     public String getKeywords() { return keywords; }
     public void setKeywords(String keywords) { this.keywords = keywords; }
+    public boolean isKeywordsPending() { return Boolean.TRUE.equals(keywordsPending); }
+    public void setKeywordsPending(boolean keywordsPending) { this.keywordsPending = keywordsPending; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
     public String getSubcategory() { return subcategory; }
     public void setSubcategory(String subcategory) { this.subcategory = subcategory; }
+    public Integer getEpochDay() { return epochDay; }
+    public void setEpochDay(Integer epochDay) { this.epochDay = epochDay; }
+    public byte[] getMinhash() { return minhash; }
+    public void setMinhash(byte[] minhash) { this.minhash = minhash; }
 }
@@ -0,0 +1,72 @@
+package neiu.lostfound.model;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * One run of the keyword re-index. Lost items are processed first, then found
+ * items, each in id order; the last id written on each side is the checkpoint
+ * an interrupted run resumes from.
+ */
+@Entity
+@Table(name = "reindex_jobs")
+public class ReindexJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private Status status;
+
+    private long lastLostId; // checkpoint: every lost item up to this id is re-indexed
+
+    private long lastFoundId; // checkpoint: every found item up to this id is re-indexed
+
+    private long processedItems;
+
+    private long totalItems; // item count when the run started
+
+    @Column(length = 100)
+    private String startedBy;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date startedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    public enum Status {
+        RUNNING, COMPLETED, CANCELLED, FAILED
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public long getLastLostId() { return lastLostId; }
+    public void setLastLostId(long lastLostId) { this.lastLostId = lastLostId; }
+    public long getLastFoundId() { return lastFoundId; }
+    public void setLastFoundId(long lastFoundId) { this.lastFoundId = lastFoundId; }
+    public long getProcessedItems() { return processedItems; }
+    public void setProcessedItems(long processedItems) { this.processedItems = processedItems; }
+    public long getTotalItems() { return totalItems; }
+    public void setTotalItems(long totalItems) { this.totalItems = totalItems; }
+    public String getStartedBy() { return startedBy; }
+    public void setStartedBy(String startedBy) { this.startedBy = startedBy; }
+    public Date getStartedAt() { return startedAt; }
+    public void setStartedAt(Date startedAt) { this.startedAt = startedAt; }
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+    public Date getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Date finishedAt) { this.finishedAt = finishedAt; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
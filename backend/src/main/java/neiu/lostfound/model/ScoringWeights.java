@@ -0,0 +1,52 @@
+package neiu.lostfound.model;
+
+import jakarta.persistence.*;
+import java.util.Date;
+
+/**
+ * One version of the text-based match scoring weights. The row with the
+ * highest version is the active one; older rows are kept as history.
+ */
+@Entity
+@Table(name = "scoring_weights")
+public class ScoringWeights {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private int version;
+
+    private int keywordWeight; // points for a full keyword match, scaled by keyword similarity
+
+    private int categoryWeight;
+
+    private int subcategoryWeight;
+
+    @Column(length = 255)
+    private String dateSteps; // "maxDays:points" pairs, e.g. "0:10,3:7,7:5,14:3"
+
+    @Column(length = 100)
+    private String updatedBy;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+    public int getKeywordWeight() { return keywordWeight; }
+    public void setKeywordWeight(int keywordWeight) { this.keywordWeight = keywordWeight; }
+    public int getCategoryWeight() { return categoryWeight; }
+    public void setCategoryWeight(int categoryWeight) { this.categoryWeight = categoryWeight; }
+    public int getSubcategoryWeight() { return subcategoryWeight; }
+    public void setSubcategoryWeight(int subcategoryWeight) { this.subcategoryWeight = subcategoryWeight; }
+    public String getDateSteps() { return dateSteps; }
+    public void setDateSteps(String dateSteps) { this.dateSteps = dateSteps; }
+    public String getUpdatedBy() { return updatedBy; }
+    public void setUpdatedBy(String updatedBy) { this.updatedBy = updatedBy; }
+    public Date getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Date updatedAt) { this.updatedAt = updatedAt; }
+}
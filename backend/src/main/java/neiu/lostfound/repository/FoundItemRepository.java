@@ -1,13 +1,22 @@
 package neiu.lostfound.repository;
 
+import jakarta.persistence.LockModeType;
 import neiu.lostfound.model.FoundItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
+public interface FoundItemRepository extends JpaRepository<FoundItem, Long>, JpaSpecificationExecutor<FoundItem> {
+    List<FoundItem> findByStatusNot(FoundItem.Status status);
+    // Keyset pagination: the next page starts after the last id of the previous one
+    List<FoundItem> findByStatusNotAndIdGreaterThanOrderByIdAsc(FoundItem.Status status, Long id, Pageable pageable);
     List<FoundItem> findByTitleContainingIgnoreCase(String title);
     List<FoundItem> findByLocationContainingIgnoreCase(String location);
     List<FoundItem> findByReporterNameContainingIgnoreCase(String reporterName);
@@ -18,4 +27,39 @@ public interface FoundItemRepository extends JpaRepository<FoundItem, Long> {
     
     @Query("SELECT f FROM FoundItem f WHERE f.reportedBy.email = :email ORDER BY f.id DESC")
     List<FoundItem> findByReportedByEmail(@Param("email") String email);
+
+    // Row lock (SELECT ... FOR UPDATE) held until the surrounding transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM FoundItem f WHERE f.id = :id")
+    Optional<FoundItem> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FoundItem f SET f.status = :status WHERE f.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") FoundItem.Status status);
+
+    // Keyword strings as (id, keywords) rows before the given id, newest first
+    @Query("SELECT f.id, f.keywords FROM FoundItem f WHERE f.keywords IS NOT NULL AND f.id < :beforeId ORDER BY f.id DESC")
+    List<Object[]> findKeywordsBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT f.id FROM FoundItem f WHERE f.keywordsPending = true ORDER BY f.id")
+    List<Long> findIdsByKeywordsPending();
+
+    // (id, keywords) rows of items with keywords but no item_keywords rows, after the given id in id order
+    @Query("SELECT f.id, f.keywords FROM FoundItem f WHERE f.keywords IS NOT NULL AND f.keywords <> '' AND f.id > :afterId "
+            + "AND NOT EXISTS (SELECT k FROM ItemKeyword k WHERE k.itemType = neiu.lostfound.model.ItemKeyword.ItemType.FOUND "
+            + "AND k.itemId = f.id) ORDER BY f.id")
+    List<Object[]> findKeywordsWithoutTermsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Fields keywords are extracted from, as (id, title, description, location, reporterName) rows after the given id
+    @Query("SELECT f.id, f.title, f.description, f.location, f.reporterName FROM FoundItem f WHERE f.id > :afterId ORDER BY f.id")
+    List<Object[]> findKeywordSourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // (id, title, description, minhash) rows of items without the given status after the given id, for the duplicate index
+    @Query("SELECT f.id, f.title, f.description, f.minhash FROM FoundItem f WHERE f.status <> :status AND f.id > :afterId ORDER BY f.id")
+    List<Object[]> findSignatureSourcesAfter(@Param("afterId") Long afterId, @Param("status") FoundItem.Status status, Pageable pageable);
+
+    // (id, status, category, subcategory, epochDay, dateFound, keywords) rows of items without the given status after the given id, for the keyword index
+    @Query("SELECT f.id, f.status, f.category, f.subcategory, f.epochDay, f.dateFound, f.keywords FROM FoundItem f "
+            + "WHERE f.status <> :status AND f.id > :afterId ORDER BY f.id")
+    List<Object[]> findIndexSourcesAfter(@Param("afterId") Long afterId, @Param("status") FoundItem.Status status, Pageable pageable);
 }
@@ -2,7 +2,12 @@ package neiu.lostfound.repository;
 
 import neiu.lostfound.model.ItemMatch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,10 +17,25 @@ public interface ItemMatchRepository extends JpaRepository<ItemMatch, Long> {
     
     // Find confirmed match for a found item (should be unique)
     Optional<ItemMatch> findByFoundItemIdAndStatus(Long foundItemId, ItemMatch.Status status);
+    Optional<ItemMatch> findByLostItemIdAndStatus(Long lostItemId, ItemMatch.Status status);
     
     // Find all matches for a lost item
     List<ItemMatch> findByLostItemId(Long lostItemId);
     
     // Find all matches for a found item
     List<ItemMatch> findByFoundItemId(Long foundItemId);
-}
\ No newline at end of file
+    
+    // Bulk lookup used by the matching loops (one query per batch of items)
+    List<ItemMatch> findByFoundItemIdIn(Collection<Long> foundItemIds);
+
+    // Every other match of either item, in one statement
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM ItemMatch m WHERE (m.lostItemId = :lostId OR m.foundItemId = :foundId) AND m.id <> :keepId")
+    int deleteOtherMatches(@Param("lostId") Long lostId, @Param("foundId") Long foundId, @Param("keepId") Long keepId);
+
+    // Mark every stored text score as stale so it is recomputed on the next read
+    @Transactional
+    @Modifying
+    @Query("UPDATE ItemMatch m SET m.scoringModel = NULL WHERE m.scoringModel IS NOT NULL")
+    int invalidateTextScores();
+}
@@ -0,0 +1,33 @@
+package neiu.lostfound.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Search predicates shared by lost and found items. Category and subcategory
+ * are compared ignoring case, so the (status, category, subcategory) index on
+ * both item tables serves the status.
+ */
+public final class ItemSpecifications {
+    private ItemSpecifications() {}
+
+    /** Items with the given status; null matches every status */
+    public static <T> Specification<T> hasStatus(Enum<?> status) {
+        return (root, query, cb) -> status == null ? cb.conjunction() : cb.equal(root.get("status"), status);
+    }
+
+    /**
+     * Items in the subcategory when one is given, otherwise in the category,
+     * ignoring case; blank values match everything
+     */
+    public static <T> Specification<T> inCategory(String category, String subcategory) {
+        return (root, query, cb) -> {
+            if (subcategory != null && !subcategory.isBlank()) {
+                return cb.equal(cb.lower(root.get("subcategory")), subcategory.trim().toLowerCase());
+            }
+            if (category != null && !category.isBlank()) {
+                return cb.equal(cb.lower(root.get("category")), category.trim().toLowerCase());
+            }
+            return cb.conjunction();
+        };
+    }
+}
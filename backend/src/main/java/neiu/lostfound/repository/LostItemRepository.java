@@ -1,13 +1,20 @@
 package neiu.lostfound.repository;
 
+import jakarta.persistence.LockModeType;
 import neiu.lostfound.model.LostItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface LostItemRepository extends JpaRepository<LostItem, Long> {
+public interface LostItemRepository extends JpaRepository<LostItem, Long>, JpaSpecificationExecutor<LostItem> {
+    List<LostItem> findByStatusNot(LostItem.Status status);
     List<LostItem> findByTitleContainingIgnoreCase(String title);
     List<LostItem> findByLocationContainingIgnoreCase(String location);
     List<LostItem> findByOwnerNameContainingIgnoreCase(String ownerName);
@@ -17,4 +24,39 @@ public interface LostItemRepository extends JpaRepository<LostItem, Long> {
     
     @Query("SELECT l FROM LostItem l WHERE l.reportedBy.email = :email ORDER BY l.id DESC")
     List<LostItem> findByReportedByEmail(@Param("email") String email);
+
+    // Row lock (SELECT ... FOR UPDATE) held until the surrounding transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LostItem l WHERE l.id = :id")
+    Optional<LostItem> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LostItem l SET l.status = :status WHERE l.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") LostItem.Status status);
+
+    // Keyword strings as (id, keywords) rows before the given id, newest first
+    @Query("SELECT l.id, l.keywords FROM LostItem l WHERE l.keywords IS NOT NULL AND l.id < :beforeId ORDER BY l.id DESC")
+    List<Object[]> findKeywordsBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT l.id FROM LostItem l WHERE l.keywordsPending = true ORDER BY l.id")
+    List<Long> findIdsByKeywordsPending();
+
+    // (id, keywords) rows of items with keywords but no item_keywords rows, after the given id in id order
+    @Query("SELECT l.id, l.keywords FROM LostItem l WHERE l.keywords IS NOT NULL AND l.keywords <> '' AND l.id > :afterId "
+            + "AND NOT EXISTS (SELECT k FROM ItemKeyword k WHERE k.itemType = neiu.lostfound.model.ItemKeyword.ItemType.LOST "
+            + "AND k.itemId = l.id) ORDER BY l.id")
+    List<Object[]> findKeywordsWithoutTermsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Fields keywords are extracted from, as (id, title, description, location, ownerName) rows after the given id
+    @Query("SELECT l.id, l.title, l.description, l.location, l.ownerName FROM LostItem l WHERE l.id > :afterId ORDER BY l.id")
+    List<Object[]> findKeywordSourcesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // (id, title, description, minhash) rows of items without the given status after the given id, for the duplicate index
+    @Query("SELECT l.id, l.title, l.description, l.minhash FROM LostItem l WHERE l.status <> :status AND l.id > :afterId ORDER BY l.id")
+    List<Object[]> findSignatureSourcesAfter(@Param("afterId") Long afterId, @Param("status") LostItem.Status status, Pageable pageable);
+
+    // (id, status, category, subcategory, epochDay, dateLost, keywords) rows of items without the given status after the given id, for the keyword index
+    @Query("SELECT l.id, l.status, l.category, l.subcategory, l.epochDay, l.dateLost, l.keywords FROM LostItem l "
+            + "WHERE l.status <> :status AND l.id > :afterId ORDER BY l.id")
+    List<Object[]> findIndexSourcesAfter(@Param("afterId") Long afterId, @Param("status") LostItem.Status status, Pageable pageable);
 }
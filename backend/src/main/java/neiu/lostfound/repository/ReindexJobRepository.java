@@ -0,0 +1,10 @@
+package neiu.lostfound.repository;
+
+import neiu.lostfound.model.ReindexJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ReindexJobRepository extends JpaRepository<ReindexJob, Long> {
+    Optional<ReindexJob> findTopByOrderByIdDesc();
+}
@@ -0,0 +1,11 @@
+package neiu.lostfound.repository;
+
+import neiu.lostfound.model.ScoringWeights;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ScoringWeightsRepository extends JpaRepository<ScoringWeights, Long> {
+    // The active weights are the latest version
+    Optional<ScoringWeights> findTopByOrderByVersionDesc();
+}
@@ -0,0 +1,59 @@
+package neiu.lostfound.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * BM25 keyword scorer. Keywords are sets, so every term frequency is 1 and a
+ * term's weight is its IDF scaled by the candidate's length normalization.
+ * The result is divided by the score of a full match of average length and
+ * clamped to [0, 1]. Common words such as "black" or "bag" weigh much less than
+ * rare ones such as "airpods".
+ *
+ * Corpus statistics are maintained incrementally, so scoring a pair costs
+ * O(shared terms).
+ */
+@Component
+public class Bm25KeywordScorer implements KeywordScorer {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final CorpusStatistics stats;
+
+    public Bm25KeywordScorer(CorpusStatistics stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public String name() {
+        return "bm25";
+    }
+
+    @Override
+    public Query prepare(int[] queryTerms) {
+        long docs = stats.documentCount();
+        double avgLength = stats.averageLength();
+        // Reference score: every query term present in a document of average
+        // length (term weight 1); shorter documents are clamped to 1.0
+        double sum = 0.0;
+        for (int term : queryTerms) {
+            sum += idf(term, docs);
+        }
+        double best = sum;
+        return (docTerms, shared, overlap) -> {
+            if (overlap == 0 || best <= 0.0)
+                return 0.0;
+            double lengthRatio = avgLength > 0 ? docTerms.length / avgLength : 1.0;
+            double termWeight = (K1 + 1) / (1 + K1 * (1 - B + B * lengthRatio));
+            double score = 0.0;
+            for (int i = 0; i < overlap; i++) {
+                score += idf(shared[i], docs);
+            }
+            return Math.min(score * termWeight / best, 1.0);
+        };
+    }
+
+    private double idf(int term, long docs) {
+        int df = stats.documentFrequency(term);
+        return Math.log(1 + (docs - df + 0.5) / (df + 0.5));
+    }
+}
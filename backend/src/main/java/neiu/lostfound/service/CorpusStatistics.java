@@ -0,0 +1,107 @@
+package neiu.lostfound.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Corpus statistics for keyword scoring: document frequency per term id,
+ * number of documents and total keyword count (for the average document
+ * length). Kept up to date by {@link KeywordIndex} as items are indexed and
+ * removed, so scorers never scan the corpus.
+ */
+@Component
+public class CorpusStatistics {
+    private volatile AtomicIntegerArray documentFrequencies = new AtomicIntegerArray(1024);
+    private final AtomicLong documentCount = new AtomicLong();
+    private final AtomicLong totalLength = new AtomicLong();
+    // Updates of the lost and found side run concurrently under the read lock
+    // (the counters are atomic); growing or replacing the array takes the write
+    // lock so no update is applied to an array that is being copied
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void addDocument(int[] terms) {
+        int max = -1;
+        for (int term : terms) max = Math.max(max, term);
+        while (true) {
+            lock.readLock().lock();
+            try {
+                AtomicIntegerArray df = documentFrequencies;
+                if (max < df.length()) {
+                    for (int term : terms) {
+                        df.incrementAndGet(term);
+                    }
+                    documentCount.incrementAndGet();
+                    totalLength.addAndGet(terms.length);
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            grow(max);
+        }
+    }
+
+    public void removeDocument(int[] terms) {
+        lock.readLock().lock();
+        try {
+            AtomicIntegerArray df = documentFrequencies;
+            for (int term : terms) {
+                if (term < df.length()) df.decrementAndGet(term);
+            }
+            documentCount.decrementAndGet();
+            totalLength.addAndGet(-terms.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Take over the counts of {@code other}, e.g. statistics rebuilt off to
+     * the side, in one step. {@code other} must not be updated afterwards.
+     */
+    public void replaceWith(CorpusStatistics other) {
+        lock.writeLock().lock();
+        try {
+            documentFrequencies = other.documentFrequencies;
+            documentCount.set(other.documentCount.get());
+            totalLength.set(other.totalLength.get());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int documentFrequency(int term) {
+        AtomicIntegerArray df = documentFrequencies;
+        return term < df.length() ? df.get(term) : 0;
+    }
+
+    public long documentCount() {
+        return documentCount.get();
+    }
+
+    public double averageLength() {
+        long docs = documentCount();
+        return docs == 0 ? 0.0 : (double) totalLength.get() / docs;
+    }
+
+    private void grow(int max) {
+        lock.writeLock().lock();
+        try {
+            AtomicIntegerArray current = documentFrequencies;
+            if (max < current.length()) return;
+            int size = current.length();
+            while (size <= max) size *= 2;
+            AtomicIntegerArray grown = new AtomicIntegerArray(size);
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            documentFrequencies = grown;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
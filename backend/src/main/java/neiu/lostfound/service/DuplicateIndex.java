@@ -0,0 +1,290 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.FoundItem;
+import neiu.lostfound.model.LostItem;
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over the MinHash signatures of lost and
+ * found items. Each signature is split into {@link MinHasher#BANDS} bands;
+ * items that agree on every row of at least one band land in the same bucket,
+ * so likely duplicates are found without comparing against every item.
+ *
+ * With 32 bands of 4 rows a pair shares a bucket with probability
+ * 1 - (1 - s^4)^32 for Jaccard similarity s: the S-curve threshold is about
+ * 0.4 (56% of such pairs collide), rising to 87% at 0.5 and 99% at 0.6.
+ * Bucket hits are then verified against the full signatures.
+ *
+ * RETURNED items are never indexed since they can not change status again.
+ *
+ * A rebuild loads fresh buckets off to the side and swaps them in, so lookups
+ * keep using the old buckets until then. The first build runs in the
+ * background after startup ({@link SearchIndexes}).
+ */
+@Component
+public class DuplicateIndex {
+    private static final Logger log = LoggerFactory.getLogger(DuplicateIndex.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final String UPDATE_LOST_MINHASH = "UPDATE lost_items SET minhash = ? WHERE id = ?";
+    private static final String UPDATE_FOUND_MINHASH = "UPDATE found_items SET minhash = ? WHERE id = ?";
+
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final MinHasher minHasher;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Buckets lostBuckets = new Buckets();
+    private volatile Buckets foundBuckets = new Buckets();
+    // Buckets being loaded by a rebuild, which receive every change too until they are swapped in
+    private volatile Buckets nextLostBuckets;
+    private volatile Buckets nextFoundBuckets;
+
+    public DuplicateIndex(LostItemRepository lostRepo, FoundItemRepository foundRepo, MinHasher minHasher,
+            JdbcTemplate jdbcTemplate) {
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.minHasher = minHasher;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reload both sides of the index from the database, reading only the
+     * text and signature of each item a page at a time. Items stored before
+     * signatures existed get theirs computed and written with a batch update.
+     * The pages go into new buckets that replace the current ones once complete.
+     */
+    public synchronized void rebuild() {
+        Buckets lostNext = new Buckets();
+        Buckets foundNext = new Buckets();
+        nextLostBuckets = lostNext;
+        nextFoundBuckets = foundNext;
+        try {
+            int[] lost = rebuild(lostNext, UPDATE_LOST_MINHASH,
+                    (afterId, page) -> lostRepo.findSignatureSourcesAfter(afterId, LostItem.Status.RETURNED, page));
+            int[] found = rebuild(foundNext, UPDATE_FOUND_MINHASH,
+                    (afterId, page) -> foundRepo.findSignatureSourcesAfter(afterId, FoundItem.Status.RETURNED, page));
+            lostBuckets = lostNext;
+            foundBuckets = foundNext;
+            log.info("Duplicate index built: {} lost items, {} found items ({} signatures backfilled)",
+                    lost[0], found[0], lost[1] + found[1]);
+        } finally {
+            nextLostBuckets = null;
+            nextFoundBuckets = null;
+        }
+    }
+
+    /** Index one side from (id, title, description, minhash) pages; returns {items, signatures backfilled} */
+    private int[] rebuild(Buckets buckets, String updateSql, BiFunction<Long, Pageable, List<Object[]>> pages) {
+        int count = 0;
+        int backfilled = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = pages.apply(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (rows.isEmpty()) break;
+            List<Object[]> updates = new ArrayList<>();
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                int[] signature = MinHasher.fromBytes((byte[]) row[3]);
+                if (signature == null) {
+                    signature = minHasher.signature((String) row[1], (String) row[2]);
+                    byte[] bytes = MinHasher.toBytes(signature);
+                    if (bytes != null) updates.add(new Object[] { bytes, id });
+                }
+                if (signature != null) buckets.put(id, signature);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(updateSql, updates);
+                backfilled += updates.size();
+            }
+            count += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        return new int[] { count, backfilled };
+    }
+
+    /** Compute and set the MinHash signature of a lost item; false if it has no text */
+    public boolean computeSignature(LostItem lost) {
+        lost.setMinhash(MinHasher.toBytes(minHasher.signature(lost.getTitle(), lost.getDescription())));
+        return lost.getMinhash() != null;
+    }
+
+    /** Compute and set the MinHash signature of a found item; false if it has no text */
+    public boolean computeSignature(FoundItem found) {
+        found.setMinhash(MinHasher.toBytes(minHasher.signature(found.getTitle(), found.getDescription())));
+        return found.getMinhash() != null;
+    }
+
+    /** Add a lost item after it was saved, or drop it once RETURNED */
+    public void indexLost(LostItem lost) {
+        if (lost == null || lost.getId() == null) return;
+        int[] signature = MinHasher.fromBytes(lost.getMinhash());
+        update(lostBuckets, nextLostBuckets, lost.getId(),
+                lost.getStatus() == LostItem.Status.RETURNED ? null : signature);
+    }
+
+    /** Add a found item after it was saved, or drop it once RETURNED */
+    public void indexFound(FoundItem found) {
+        if (found == null || found.getId() == null) return;
+        int[] signature = MinHasher.fromBytes(found.getMinhash());
+        update(foundBuckets, nextFoundBuckets, found.getId(),
+                found.getStatus() == FoundItem.Status.RETURNED ? null : signature);
+    }
+
+    /** Put the signature into the current buckets and those being rebuilt, or remove the item if it is null */
+    private static void update(Buckets current, Buckets next, Long id, int[] signature) {
+        for (Buckets buckets : new Buckets[] { current, next }) {
+            if (buckets == null) continue;
+            if (signature == null) buckets.remove(id);
+            else buckets.put(id, signature);
+        }
+    }
+
+    /** Other lost items whose estimated similarity to the lost item is at least minSimilarity, most similar first */
+    public List<Similar> findLostDuplicates(Long lostId, double minSimilarity) {
+        Buckets buckets = lostBuckets;
+        int[] signature = buckets.signature(lostId);
+        if (signature == null) return Collections.emptyList();
+        return buckets.similar(signature, lostId, minSimilarity);
+    }
+
+    /** Other found items whose estimated similarity to the found item is at least minSimilarity, most similar first */
+    public List<Similar> findFoundDuplicates(Long foundId, double minSimilarity) {
+        Buckets buckets = foundBuckets;
+        int[] signature = buckets.signature(foundId);
+        if (signature == null) return Collections.emptyList();
+        return buckets.similar(signature, foundId, minSimilarity);
+    }
+
+    /**
+     * Lost items sharing at least one LSH bucket with the found item, or null
+     * if the found item has no signature (no filtering possible)
+     */
+    public Set<Long> lostCandidates(FoundItem found) {
+        int[] signature = foundBuckets.signature(found.getId());
+        if (signature == null) signature = MinHasher.fromBytes(found.getMinhash());
+        return signature == null ? null : lostBuckets.candidates(signature);
+    }
+
+    /**
+     * Found items sharing at least one LSH bucket with the lost item, or null
+     * if the lost item has no signature (no filtering possible)
+     */
+    public Set<Long> foundCandidates(LostItem lost) {
+        int[] signature = lostBuckets.signature(lost.getId());
+        if (signature == null) signature = MinHasher.fromBytes(lost.getMinhash());
+        return signature == null ? null : foundBuckets.candidates(signature);
+    }
+
+    /** An indexed item and its estimated Jaccard similarity to the query item */
+    public static final class Similar {
+        private final Long id;
+        private final double similarity;
+
+        Similar(Long id, double similarity) {
+            this.id = id;
+            this.similarity = similarity;
+        }
+
+        public Long getId() { return id; }
+        public double getSimilarity() { return similarity; }
+    }
+
+    /** One side (lost or found) of the index */
+    private static final class Buckets {
+        // one table per band: band key -> item ids
+        private final List<Map<Long, Set<Long>>> bands = new ArrayList<>(MinHasher.BANDS);
+        private final Map<Long, int[]> signatures = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        Buckets() {
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                bands.add(new HashMap<>());
+            }
+        }
+
+        void put(Long id, int[] signature) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+                for (int band = 0; band < MinHasher.BANDS; band++) {
+                    bands.get(band).computeIfAbsent(MinHasher.bandKey(signature, band), k -> new HashSet<>()).add(id);
+                }
+                signatures.put(id, signature);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int[] signature(Long id) {
+            lock.readLock().lock();
+            try {
+                return signatures.get(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Set<Long> candidates(int[] signature) {
+            lock.readLock().lock();
+            try {
+                Set<Long> ids = new HashSet<>();
+                for (int band = 0; band < MinHasher.BANDS; band++) {
+                    Set<Long> bucket = bands.get(band).get(MinHasher.bandKey(signature, band));
+                    if (bucket != null) ids.addAll(bucket);
+                }
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Similar> similar(int[] signature, Long exclude, double minSimilarity) {
+            List<Similar> result = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Long id : candidates(signature)) {
+                    if (id.equals(exclude)) continue;
+                    double similarity = MinHasher.similarity(signature, signatures.get(id));
+                    if (similarity >= minSimilarity) result.add(new Similar(id, similarity));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            result.sort(Comparator.comparingDouble(Similar::getSimilarity).reversed()
+                    .thenComparing(Similar::getId));
+            return result;
+        }
+
+        private void removeUnlocked(Long id) {
+            int[] signature = signatures.remove(id);
+            if (signature == null) return;
+            for (int band = 0; band < MinHasher.BANDS; band++) {
+                long key = MinHasher.bandKey(signature, band);
+                Set<Long> bucket = bands.get(band).get(key);
+                if (bucket == null) continue;
+                bucket.remove(id);
+                if (bucket.isEmpty()) bands.get(band).remove(key);
+            }
+        }
+    }
+}
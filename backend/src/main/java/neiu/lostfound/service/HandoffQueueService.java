@@ -18,17 +18,20 @@ public class HandoffQueueService {
     private final FoundItemRepository foundItemRepo;
     private final ItemMatchRepository itemMatchRepo;
     private final EmailNotificationService emailNotifications;
+    private final MatchingService matchingService;
 
     public HandoffQueueService(HandoffQueueRepository handoffQueueRepo,
                                LostItemRepository lostItemRepo,
                                FoundItemRepository foundItemRepo,
                                ItemMatchRepository itemMatchRepo,
-                               EmailNotificationService emailNotifications) {
+                               EmailNotificationService emailNotifications,
+                               MatchingService matchingService) {
         this.handoffQueueRepo = handoffQueueRepo;
         this.lostItemRepo = lostItemRepo;
         this.foundItemRepo = foundItemRepo;
         this.itemMatchRepo = itemMatchRepo;
         this.emailNotifications = emailNotifications;
+        this.matchingService = matchingService;
     }
 
     public List<HandoffQueueResponse> getAllHandoffs() {
@@ -177,11 +180,13 @@ public class HandoffQueueService {
                 lostOpt.ifPresent(lost -> {
                     lost.setStatus(LostItem.Status.OPEN);
                     lostItemRepo.save(lost);
+                    matchingService.lostItemChanged(lost);
                 });
                 
                 foundOpt.ifPresent(found -> {
                     found.setStatus(FoundItem.Status.UNCLAIMED);
                     foundItemRepo.save(found);
+                    matchingService.foundItemChanged(found);
                 });
                 
                 // Delete the handoff first (no FK constraints!)
@@ -218,6 +223,8 @@ public class HandoffQueueService {
         
         lostItemRepo.save(lost);
         foundItemRepo.save(found);
+        matchingService.lostItemChanged(lost);
+        matchingService.foundItemChanged(found);
         
         // Keep the handoff queue entry with COMPLETED status for audit trail
         // Don't delete it - admins should be able to view completed handoffs
@@ -0,0 +1,36 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.FoundItem;
+import neiu.lostfound.model.LostItem;
+
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Lost/found dates as epoch days (days since 1970-01-01). Items store the
+ * value when they are created so matching compares plain ints instead of
+ * converting dates for every pair.
+ */
+public final class ItemDates {
+    private ItemDates() {}
+
+    /** Epoch day of a date, or null if there is none */
+    public static Integer epochDay(Date date) {
+        if (date == null) return null;
+        // Entities loaded by JPA hold java.sql.Date, which does not support toInstant()
+        if (date instanceof java.sql.Date) {
+            return (int) ((java.sql.Date) date).toLocalDate().toEpochDay();
+        }
+        return (int) date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    /** Stored epoch day of a lost item, converted from dateLost for rows stored before it existed */
+    public static Integer epochDay(LostItem lost) {
+        return lost.getEpochDay() != null ? lost.getEpochDay() : epochDay(lost.getDateLost());
+    }
+
+    /** Stored epoch day of a found item, converted from dateFound for rows stored before it existed */
+    public static Integer epochDay(FoundItem found) {
+        return found.getEpochDay() != null ? found.getEpochDay() : epochDay(found.getDateFound());
+    }
+}
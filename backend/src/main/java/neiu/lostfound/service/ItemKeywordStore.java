@@ -0,0 +1,200 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.ItemKeyword;
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keywords of lost and found items in normalized form: the keyword_terms
+ * dictionary plus one item_keywords row per (item, term). Searches rank items
+ * by the number of query terms they share with one grouped query instead of
+ * splitting every item's keyword string in Java.
+ *
+ * Term ids never change once assigned, so they are cached in memory.
+ */
+@Component
+public class ItemKeywordStore {
+    private static final Logger log = LoggerFactory.getLogger(ItemKeywordStore.class);
+    // Keep IN lists well below the bind parameter limits of Postgres and H2
+    private static final int QUERY_CHUNK_SIZE = 1000;
+    private static final int BACKFILL_PAGE_SIZE = 500;
+    private static final int MAX_TERM_LENGTH = 255;
+
+    private static final String POSTGRES_INSERT_TERM =
+            "INSERT INTO keyword_terms (term) VALUES (?) ON CONFLICT (term) DO NOTHING";
+    private static final String H2_INSERT_TERM =
+            "MERGE INTO keyword_terms (term) KEY (term) VALUES (?)";
+    private static final String DELETE_ITEM =
+            "DELETE FROM item_keywords WHERE item_type = ? AND item_id = ?";
+    private static final String INSERT_ITEM_KEYWORD =
+            "INSERT INTO item_keywords (item_type, item_id, term_id) VALUES (?, ?, ?)";
+    private static final String UPDATE_LOST =
+            "UPDATE lost_items SET keywords = ?, keywords_pending = false WHERE id = ?";
+    private static final String UPDATE_FOUND =
+            "UPDATE found_items SET keywords = ?, keywords_pending = false WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final String insertTermSql;
+    private final Map<String, Long> termIds = new ConcurrentHashMap<>();
+
+    public ItemKeywordStore(JdbcTemplate jdbcTemplate,
+            LostItemRepository lostRepo,
+            FoundItemRepository foundRepo,
+            @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.insertTermSql = datasourceUrl.startsWith("jdbc:h2:") ? H2_INSERT_TERM : POSTGRES_INSERT_TERM;
+    }
+
+    /**
+     * Store freshly extracted keywords of each given item: its item_keywords
+     * rows and its keyword string, clearing the pending flag. Returns the
+     * status name of each item as read after the update, in the same
+     * transaction, so a status changed while the keywords were extracted is
+     * not lost; items deleted in the meantime are missing.
+     */
+    @Transactional
+    public Map<Long, String> save(ItemKeyword.ItemType itemType, Map<Long, ? extends Collection<String>> keywordsByItem) {
+        Map<Long, String> statuses = new HashMap<>();
+        if (keywordsByItem.isEmpty()) return statuses;
+        replace(itemType, keywordsByItem);
+        List<Object[]> updates = new ArrayList<>(keywordsByItem.size());
+        for (Map.Entry<Long, ? extends Collection<String>> e : keywordsByItem.entrySet()) {
+            updates.add(new Object[] { String.join(",", e.getValue()), e.getKey() });
+        }
+        jdbcTemplate.batchUpdate(itemType == ItemKeyword.ItemType.LOST ? UPDATE_LOST : UPDATE_FOUND, updates);
+        String table = itemType == ItemKeyword.ItemType.LOST ? "lost_items" : "found_items";
+        List<Long> ids = new ArrayList<>(keywordsByItem.keySet());
+        for (int from = 0; from < ids.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + QUERY_CHUNK_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, status FROM " + table + " WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                        statuses.put(rs.getLong(1), rs.getString(2));
+                    }, chunk.toArray());
+        }
+        return statuses;
+    }
+
+    /** Replace the item_keywords rows of each given item */
+    @Transactional
+    public void replace(ItemKeyword.ItemType itemType, Map<Long, ? extends Collection<String>> keywordsByItem) {
+        if (keywordsByItem.isEmpty()) return;
+        Set<String> terms = new HashSet<>();
+        for (Collection<String> keywords : keywordsByItem.values()) {
+            for (String keyword : keywords) terms.add(normalize(keyword));
+        }
+        Map<String, Long> ids = termIds(terms);
+
+        List<Object[]> deletes = new ArrayList<>(keywordsByItem.size());
+        List<Object[]> inserts = new ArrayList<>();
+        for (Map.Entry<Long, ? extends Collection<String>> e : keywordsByItem.entrySet()) {
+            deletes.add(new Object[] { itemType.name(), e.getKey() });
+            Set<Long> itemTermIds = new HashSet<>();
+            for (String keyword : e.getValue()) {
+                Long termId = ids.get(normalize(keyword));
+                if (termId != null && itemTermIds.add(termId)) {
+                    inserts.add(new Object[] { itemType.name(), e.getKey(), termId });
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(DELETE_ITEM, deletes);
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ITEM_KEYWORD, inserts);
+        }
+    }
+
+    /** Split a comma-separated keyword string as stored on the items */
+    public static Set<String> split(String keywords) {
+        Set<String> result = new LinkedHashSet<>();
+        if (keywords == null || keywords.isBlank()) return result;
+        for (String part : keywords.split(",")) {
+            String term = normalize(part);
+            if (!term.isEmpty()) result.add(term);
+        }
+        return result;
+    }
+
+    /**
+     * Fill item_keywords from the keyword strings of items that have none,
+     * e.g. items stored before the table existed. Only those items are read,
+     * so a backfill interrupted by a restart resumes where it stopped and a
+     * complete table costs one empty query per item type.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        backfill(ItemKeyword.ItemType.LOST);
+        backfill(ItemKeyword.ItemType.FOUND);
+    }
+
+    private void backfill(ItemKeyword.ItemType itemType) {
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        int count = 0;
+        while (true) {
+            PageRequest page = PageRequest.of(0, BACKFILL_PAGE_SIZE);
+            List<Object[]> rows = itemType == ItemKeyword.ItemType.LOST
+                    ? lostRepo.findKeywordsWithoutTermsAfter(afterId, page)
+                    : foundRepo.findKeywordsWithoutTermsAfter(afterId, page);
+            if (rows.isEmpty()) break;
+            Map<Long, Set<String>> keywordsByItem = new LinkedHashMap<>();
+            for (Object[] row : rows) {
+                keywordsByItem.put((Long) row[0], split((String) row[1]));
+            }
+            replace(itemType, keywordsByItem);
+            count += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        if (count > 0) {
+            log.info("Backfilled item_keywords for {} {} items in {} ms", count, itemType,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    private static String normalize(String keyword) {
+        return keyword.trim().toLowerCase();
+    }
+
+    /** Ids of the terms, inserting the ones never seen before */
+    private Map<String, Long> termIds(Collection<String> terms) {
+        Map<String, Long> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String term : terms) {
+            if (term.isEmpty() || term.length() > MAX_TERM_LENGTH) continue;
+            Long id = termIds.get(term);
+            if (id != null) result.put(term, id);
+            else missing.add(term);
+        }
+        if (missing.isEmpty()) return result;
+        List<Object[]> rows = new ArrayList<>(missing.size());
+        for (String term : missing) rows.add(new Object[] { term });
+        jdbcTemplate.batchUpdate(insertTermSql, rows);
+        for (int from = 0; from < missing.size(); from += QUERY_CHUNK_SIZE) {
+            List<String> chunk = missing.subList(from, Math.min(from + QUERY_CHUNK_SIZE, missing.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, term FROM keyword_terms WHERE term IN (" + placeholders + ")",
+                    rs -> {
+                        termIds.put(rs.getString(2), rs.getLong(1));
+                        result.put(rs.getString(2), rs.getLong(1));
+                    }, chunk.toArray());
+        }
+        return result;
+    }
+}
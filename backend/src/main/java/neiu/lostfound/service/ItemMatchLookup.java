@@ -0,0 +1,71 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.ItemMatch;
+import neiu.lostfound.repository.ItemMatchRepository;
+
+import java.util.*;
+
+/**
+ * In-memory view of a batch of ItemMatch rows keyed by found item id and lost
+ * item id. Scoring loops load it once with a bulk query instead of asking the
+ * repository for every lost/found pair.
+ */
+public class ItemMatchLookup {
+    // Keep IN lists well below the bind parameter limits of Postgres and H2
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
+    // found id -> lost id -> matches for that pair
+    private final Map<Long, Map<Long, List<ItemMatch>>> byFound = new HashMap<>();
+
+    public ItemMatchLookup(Collection<ItemMatch> matches) {
+        for (ItemMatch m : matches) {
+            byFound.computeIfAbsent(m.getFoundItemId(), id -> new HashMap<>())
+                    .computeIfAbsent(m.getLostItemId(), id -> new ArrayList<>(1))
+                    .add(m);
+        }
+    }
+
+    /** Load all matches for the given found items */
+    public static ItemMatchLookup forFoundItems(ItemMatchRepository repo, Collection<Long> foundIds) {
+        List<ItemMatch> matches = new ArrayList<>();
+        for (List<Long> chunk : chunks(foundIds)) {
+            matches.addAll(repo.findByFoundItemIdIn(chunk));
+        }
+        return new ItemMatchLookup(matches);
+    }
+
+    public List<ItemMatch> get(Long lostId, Long foundId) {
+        Map<Long, List<ItemMatch>> byLost = byFound.get(foundId);
+        if (byLost == null) return Collections.emptyList();
+        return byLost.getOrDefault(lostId, Collections.emptyList());
+    }
+
+    public boolean exists(Long lostId, Long foundId) {
+        return !get(lostId, foundId).isEmpty();
+    }
+
+    public boolean isConfirmed(Long lostId, Long foundId) {
+        return get(lostId, foundId).stream().anyMatch(m -> m.getStatus() == ItemMatch.Status.CONFIRMED);
+    }
+
+    /** The confirmed match of a found item, if any */
+    public Optional<ItemMatch> findConfirmed(Long foundId) {
+        Map<Long, List<ItemMatch>> byLost = byFound.get(foundId);
+        if (byLost == null) return Optional.empty();
+        for (List<ItemMatch> matches : byLost.values()) {
+            for (ItemMatch m : matches) {
+                if (m.getStatus() == ItemMatch.Status.CONFIRMED) return Optional.of(m);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += QUERY_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(i + QUERY_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+}
@@ -3,15 +3,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import neiu.lostfound.dto.DuplicateResult;
 import neiu.lostfound.dto.FoundItemRequest;
 import neiu.lostfound.dto.LostItemRequest;
+import neiu.lostfound.model.ItemKeyword;
 import neiu.lostfound.model.LostItem;
 import neiu.lostfound.model.FoundItem;
 import neiu.lostfound.repository.LostItemRepository;
 import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.ItemSpecifications;
 import neiu.lostfound.repository.UserRepository;
-import neiu.lostfound.config.StopWordsProvider;
-import neiu.lostfound.service.KeywordProcessor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.text.SimpleDateFormat;
@@ -24,21 +29,20 @@ public class ItemService {
   private final LostItemRepository lostRepo;
   private final FoundItemRepository foundRepo;
   private final UserRepository userRepo;
-  private final StopWordsProvider stopWordsProvider;
-  private final KeywordProcessor keywordProcessor;
+  private final DuplicateIndex duplicateIndex;
+  private final KeywordExtractionQueue keywordExtractionQueue;
+  private final TrigramIndex trigramIndex;
+  private final RankedSearch rankedSearch;
 
   @Autowired
-  public ItemService(LostItemRepository lostRepo, FoundItemRepository foundRepo, UserRepository userRepo, StopWordsProvider stopWordsProvider, KeywordProcessor keywordProcessor) {
+  public ItemService(LostItemRepository lostRepo, FoundItemRepository foundRepo, UserRepository userRepo, DuplicateIndex duplicateIndex, KeywordExtractionQueue keywordExtractionQueue, TrigramIndex trigramIndex, RankedSearch rankedSearch) {
     this.lostRepo = lostRepo;
     this.foundRepo = foundRepo;
     this.userRepo = userRepo;
-    this.stopWordsProvider = stopWordsProvider;
-    this.keywordProcessor = keywordProcessor;
-  }
-
-  private String extractKeywords(String... fields) {
-    Set<String> keywords = keywordProcessor.process(fields);
-    return String.join(",", keywords);
+    this.duplicateIndex = duplicateIndex;
+    this.keywordExtractionQueue = keywordExtractionQueue;
+    this.trigramIndex = trigramIndex;
+    this.rankedSearch = rankedSearch;
   }
 
   public LostItem createLost(LostItemRequest req, String userEmail) {
@@ -52,6 +56,7 @@ public class ItemService {
         it.setDateLost(new SimpleDateFormat("yyyy-MM-dd").parse(req.dateLost.trim()));
       }
     } catch (Exception e) { log.warn("Invalid dateLost format"); }
+    it.setEpochDay(ItemDates.epochDay(it.getDateLost()));
     it.setImageData(req.imageData);
     // New lost items are OPEN by default
     it.setStatus(LostItem.Status.OPEN);
@@ -71,11 +76,16 @@ public class ItemService {
         }
       });
     }
-    // Extract and set keywords
-    it.setKeywords(extractKeywords(req.title, req.description, req.location, req.ownerName));
+    // Keywords are extracted in the background; matching picks the item up once they are set
+    it.setKeywordsPending(true);
     it.setCategory(req.category);
     it.setSubcategory(req.subcategory);
-    return lostRepo.save(it);
+    // MinHash signature for duplicate detection
+    duplicateIndex.computeSignature(it);
+    LostItem saved = lostRepo.save(it);
+    trigramIndex.indexLost(saved.getId(), saved.getTitle(), saved.getDescription());
+    keywordExtractionQueue.submitLost(saved.getId());
+    return saved;
   }
 
   public FoundItem createFound(FoundItemRequest req, String userEmail) {
@@ -89,6 +99,7 @@ public class ItemService {
         it.setDateFound(new SimpleDateFormat("yyyy-MM-dd").parse(req.dateFound.trim()));
       }
     } catch (Exception e) { log.warn("Invalid dateFound format"); }
+    it.setEpochDay(ItemDates.epochDay(it.getDateFound()));
     it.setImageData(req.imageData);
     // New found items are UNCLAIMED by default
     it.setStatus(FoundItem.Status.UNCLAIMED);
@@ -108,11 +119,42 @@ public class ItemService {
         }
       });
     }
-    // Extract and set keywords
-    it.setKeywords(extractKeywords(req.title, req.description, req.location, req.reporterName));
+    // Keywords are extracted in the background; matching picks the item up once they are set
+    it.setKeywordsPending(true);
     it.setCategory(req.category);
     it.setSubcategory(req.subcategory);
-    return foundRepo.save(it);
+    // MinHash signature for duplicate detection
+    duplicateIndex.computeSignature(it);
+    FoundItem saved = foundRepo.save(it);
+    trigramIndex.indexFound(saved.getId(), saved.getTitle(), saved.getDescription());
+    keywordExtractionQueue.submitFound(saved.getId());
+    return saved;
+  }
+
+  /** Other lost items that are likely reports of the same item, most similar first */
+  public List<DuplicateResult<LostItem>> findLostDuplicates(Long lostId, double minSimilarity) {
+    List<DuplicateIndex.Similar> similar = duplicateIndex.findLostDuplicates(lostId, minSimilarity);
+    Map<Long, LostItem> byId = lostRepo.findAllById(similar.stream().map(DuplicateIndex.Similar::getId).collect(Collectors.toList()))
+      .stream().collect(Collectors.toMap(LostItem::getId, item -> item));
+    List<DuplicateResult<LostItem>> results = new ArrayList<>();
+    for (DuplicateIndex.Similar s : similar) {
+      LostItem item = byId.get(s.getId());
+      if (item != null) results.add(new DuplicateResult<>(item, (int) Math.round(s.getSimilarity() * 100)));
+    }
+    return results;
+  }
+
+  /** Other found items that are likely reports of the same item, most similar first */
+  public List<DuplicateResult<FoundItem>> findFoundDuplicates(Long foundId, double minSimilarity) {
+    List<DuplicateIndex.Similar> similar = duplicateIndex.findFoundDuplicates(foundId, minSimilarity);
+    Map<Long, FoundItem> byId = foundRepo.findAllById(similar.stream().map(DuplicateIndex.Similar::getId).collect(Collectors.toList()))
+      .stream().collect(Collectors.toMap(FoundItem::getId, item -> item));
+    List<DuplicateResult<FoundItem>> results = new ArrayList<>();
+    for (DuplicateIndex.Similar s : similar) {
+      FoundItem item = byId.get(s.getId());
+      if (item != null) results.add(new DuplicateResult<>(item, (int) Math.round(s.getSimilarity() * 100)));
+    }
+    return results;
   }
 
   public List<LostItem> listLost() {
@@ -128,91 +170,59 @@ public class ItemService {
     return foundRepo.findAll();
   }
 
-  public List<LostItem> searchLostItems(String q, String category, String subcategory, String status) {
-    List<LostItem> all = lostRepo.findAll();
-    
-    // Default to showing only OPEN (unresolved) items unless "ALL" is specified
-    final String filterStatus = (status == null || status.isBlank()) ? "OPEN" : status.toUpperCase();
-    
-    List<LostItem> filtered = all.stream()
-      .filter(item -> matchCategory(item, category, subcategory))
-      .filter(item -> filterStatus.equals("ALL") || item.getStatus().name().equals(filterStatus))
-      .collect(Collectors.toList());
+  /**
+   * Lost items filtered by status (OPEN unless given, "ALL" for any) and by
+   * subcategory or category (ignoring case) in the database. Without a query
+   * the page is sorted as requested; with one, items sharing query keywords or
+   * fuzzily matching the title or description are ranked by relevance, so the
+   * pageable must not carry a sort (IllegalArgumentException).
+   */
+  public Page<LostItem> searchLostItems(String q, String category, String subcategory, String status, Pageable pageable) {
+    LostItem.Status statusFilter = parseStatus(LostItem.Status.class, status, LostItem.Status.OPEN);
     if (q == null || q.isBlank()) {
-      // No keyword filtering, just return all matches
-      return filtered;
+      Specification<LostItem> filter = Specification.<LostItem>where(ItemSpecifications.hasStatus(statusFilter))
+        .and(ItemSpecifications.inCategory(category, subcategory));
+      return lostRepo.findAll(filter, pageable);
     }
-    Set<String> queryKeywords = Arrays.stream(q.split(","))
-      .map(String::trim)
-      .map(String::toLowerCase)
-      .filter(s -> !s.isEmpty())
-      .collect(Collectors.toSet());
-    List<LostItem> ranked = filtered.stream()
-      .map(item -> new AbstractMap.SimpleEntry<>(item, countMatches(queryKeywords, item.getKeywords())))
-      .filter(e -> e.getValue() > 0)
-      .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-      .map(Map.Entry::getKey)
-      .collect(Collectors.toList());
-    return ranked;
+    Page<Long> ids = rankedSearch.search(ItemKeyword.ItemType.LOST, q, statusFilter, category, subcategory,
+      requireUnsorted(pageable));
+    Map<Long, LostItem> byId = lostRepo.findAllById(ids.getContent()).stream()
+      .collect(Collectors.toMap(LostItem::getId, item -> item));
+    List<LostItem> content = ids.getContent().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    return new PageImpl<>(content, pageable, ids.getTotalElements());
   }
 
-  public List<FoundItem> searchFoundItems(String q, String category, String subcategory, String status) {
-    List<FoundItem> all = foundRepo.findAll();
-    
-    // Default to showing only UNCLAIMED (unresolved) items unless "ALL" is specified
-    final String filterStatus = (status == null || status.isBlank()) ? "UNCLAIMED" : status.toUpperCase();
-    
-    List<FoundItem> filtered = all.stream()
-      .filter(item -> matchCategory(item, category, subcategory))
-      .filter(item -> filterStatus.equals("ALL") || item.getStatus().name().equals(filterStatus))
-      .collect(Collectors.toList());
+  /**
+   * Found items filtered by status (UNCLAIMED unless given, "ALL" for any)
+   * and by subcategory or category, ranked like {@link #searchLostItems}
+   */
+  public Page<FoundItem> searchFoundItems(String q, String category, String subcategory, String status, Pageable pageable) {
+    FoundItem.Status statusFilter = parseStatus(FoundItem.Status.class, status, FoundItem.Status.UNCLAIMED);
     if (q == null || q.isBlank()) {
-      // No keyword filtering, just return all matches
-      return filtered;
+      Specification<FoundItem> filter = Specification.<FoundItem>where(ItemSpecifications.hasStatus(statusFilter))
+        .and(ItemSpecifications.inCategory(category, subcategory));
+      return foundRepo.findAll(filter, pageable);
     }
-    Set<String> queryKeywords = Arrays.stream(q.split(","))
-      .map(String::trim)
-      .map(String::toLowerCase)
-      .filter(s -> !s.isEmpty())
-      .collect(Collectors.toSet());
-    List<FoundItem> ranked = filtered.stream()
-      .map(item -> new AbstractMap.SimpleEntry<>(item, countMatches(queryKeywords, item.getKeywords())))
-      .filter(e -> e.getValue() > 0)
-      .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-      .map(Map.Entry::getKey)
-      .collect(Collectors.toList());
-    return ranked;
+    Page<Long> ids = rankedSearch.search(ItemKeyword.ItemType.FOUND, q, statusFilter, category, subcategory,
+      requireUnsorted(pageable));
+    Map<Long, FoundItem> byId = foundRepo.findAllById(ids.getContent()).stream()
+      .collect(Collectors.toMap(FoundItem::getId, item -> item));
+    List<FoundItem> content = ids.getContent().stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+    return new PageImpl<>(content, pageable, ids.getTotalElements());
   }
 
-  private boolean matchCategory(Object item, String category, String subcategory) {
-    String itemCat = null;
-    String itemSubcat = null;
-    if (item instanceof LostItem) {
-      itemCat = ((LostItem)item).getCategory();
-      itemSubcat = ((LostItem)item).getSubcategory();
-    } else if (item instanceof FoundItem) {
-      itemCat = ((FoundItem)item).getCategory();
-      itemSubcat = ((FoundItem)item).getSubcategory();
-    }
-    if (subcategory != null && !subcategory.isBlank()) {
-      return subcategory.equalsIgnoreCase(itemSubcat);
-    } else if (category != null && !category.isBlank()) {
-      return category.equalsIgnoreCase(itemCat);
-    }
-    return true;
+  /** The status to filter on, null for "ALL"; throws IllegalArgumentException for unknown statuses */
+  private static <S extends Enum<S>> S parseStatus(Class<S> type, String status, S defaultStatus) {
+    if (status == null || status.isBlank()) return defaultStatus;
+    if (status.trim().equalsIgnoreCase("ALL")) return null;
+    return Enum.valueOf(type, status.trim().toUpperCase());
   }
 
-  private int countMatches(Set<String> queryKeywords, String itemKeywords) {
-    if (itemKeywords == null || itemKeywords.isBlank()) return 0;
-    Set<String> itemSet = Arrays.stream(itemKeywords.split(","))
-      .map(String::trim)
-      .map(String::toLowerCase)
-      .filter(s -> !s.isEmpty())
-      .collect(Collectors.toSet());
-    int count = 0;
-    for (String qk : queryKeywords) {
-      if (itemSet.contains(qk)) count++;
+  /** Keyword results are ordered by relevance, so a requested sort is rejected rather than ignored */
+  private static Pageable requireUnsorted(Pageable pageable) {
+    if (pageable.getSort().isSorted()) {
+      throw new IllegalArgumentException("sort can not be combined with q; keyword results are ordered by relevance");
     }
-    return count;
+    return pageable;
   }
 }
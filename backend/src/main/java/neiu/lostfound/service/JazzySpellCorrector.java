@@ -0,0 +1,43 @@
+package neiu.lostfound.service;
+
+import com.swabunga.spell.engine.SpellDictionaryHashMap;
+import com.swabunga.spell.event.SpellChecker;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/** Spell correction with Jazzy's suggestion search over the dictionary */
+public class JazzySpellCorrector implements SpellCorrector {
+    public static final String NAME = "jazzy";
+
+    private final SpellChecker spellChecker;
+
+    private JazzySpellCorrector(SpellChecker spellChecker) {
+        this.spellChecker = spellChecker;
+    }
+
+    /** Load the word list into Jazzy's in-memory dictionary */
+    public static JazzySpellCorrector load(Resource dictionary) throws IOException {
+        try (Reader reader = new InputStreamReader(dictionary.getInputStream(), StandardCharsets.ISO_8859_1)) {
+            return new JazzySpellCorrector(new SpellChecker(new SpellDictionaryHashMap(reader)));
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String correct(String word) {
+        List<?> suggestions = spellChecker.getSuggestions(word, 2);
+        if (!suggestions.isEmpty()) {
+            return suggestions.get(0).toString();
+        }
+        return word;
+    }
+}
@@ -0,0 +1,98 @@
+package neiu.lostfound.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global keyword dictionary that maps every keyword to a dense int id.
+ * Items keep their keywords as sorted, duplicate-free int[] so the matching
+ * hot path can intersect them with a merge instead of building string sets.
+ */
+@Component
+public class KeywordDictionary {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] terms = new String[1024];
+    private int size = 0; // guarded by this
+
+    /** Id of a term, assigning a new one if the term was never seen */
+    public int idOf(String term) {
+        Integer id = ids.get(term);
+        if (id != null) return id;
+        synchronized (this) {
+            id = ids.get(term);
+            if (id != null) return id;
+            int next = size;
+            if (next == terms.length) {
+                terms = Arrays.copyOf(terms, next * 2);
+            }
+            terms[next] = term;
+            size = next + 1;
+            // Published last, so readers that see the id also see the term
+            ids.put(term, next);
+            return next;
+        }
+    }
+
+    public String termOf(int id) {
+        return terms[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Encode a comma-separated keyword string as a sorted set of term ids */
+    public int[] encode(String keywords) {
+        if (keywords == null || keywords.isBlank()) return new int[0];
+        String[] parts = keywords.split(",");
+        int[] result = new int[parts.length];
+        int n = 0;
+        for (String part : parts) {
+            String term = part.trim();
+            if (!term.isEmpty()) result[n++] = idOf(term);
+        }
+        Arrays.sort(result, 0, n);
+        // Drop duplicates in place
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || result[unique - 1] != result[i]) result[unique++] = result[i];
+        }
+        return unique == result.length ? result : Arrays.copyOf(result, unique);
+    }
+
+    /** Number of ids two sorted id sets have in common */
+    public static int intersectionSize(int[] a, int[] b) {
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Write the ids two sorted id sets have in common into {@code out}, which
+     * must hold at least min(a.length, b.length) ids. Returns how many were written.
+     */
+    public static int intersect(int[] a, int[] b, int[] out) {
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+}
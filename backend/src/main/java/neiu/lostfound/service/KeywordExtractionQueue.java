@@ -0,0 +1,210 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.FoundItem;
+import neiu.lostfound.model.ItemKeyword;
+import neiu.lostfound.model.LostItem;
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background keyword extraction for newly created items. Item creation only
+ * stores the item with {@code keywordsPending} set and queues its id here;
+ * a small pool of workers drains the bounded queue in batches, runs the
+ * {@link KeywordProcessor}, stores the keywords with one set of JDBC batch
+ * updates per item type ({@link ItemKeywordStore#save}) and then updates
+ * matching for each item, with the status read back by that save so a status
+ * changed during extraction (e.g. a confirmed match) is not overwritten.
+ *
+ * Ids that do not fit into the queue stay pending in the database and are
+ * picked up by the periodic sweep, which also resumes items left pending by
+ * a restart.
+ */
+@Component
+public class KeywordExtractionQueue implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(KeywordExtractionQueue.class);
+
+    private final KeywordProcessor keywordProcessor;
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final MatchingService matchingService;
+    private final ItemKeywordStore itemKeywordStore;
+    private final int batchSize;
+    private final BlockingQueue<Job> queue;
+    // Jobs currently queued or being processed, so an item is never queued twice
+    private final Set<Job> inFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+
+    public KeywordExtractionQueue(KeywordProcessor keywordProcessor,
+            LostItemRepository lostRepo,
+            FoundItemRepository foundRepo,
+            MatchingService matchingService,
+            ItemKeywordStore itemKeywordStore,
+            @Value("${app.keywords.extraction.workers:2}") int workerCount,
+            @Value("${app.keywords.extraction.batch-size:50}") int batchSize,
+            @Value("${app.keywords.extraction.queue-capacity:10000}") int queueCapacity) {
+        this.keywordProcessor = keywordProcessor;
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.matchingService = matchingService;
+        this.itemKeywordStore = itemKeywordStore;
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, workerCount), r -> {
+            Thread t = new Thread(r, "keywords-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /** Queue keyword extraction for a stored lost item */
+    public void submitLost(Long lostId) {
+        submit(new Job(true, lostId));
+    }
+
+    /** Queue keyword extraction for a stored found item */
+    public void submitFound(Long foundId) {
+        submit(new Job(false, foundId));
+    }
+
+    private void submit(Job job) {
+        if (!inFlight.add(job)) return;
+        if (!queue.offer(job)) {
+            // Stays pending in the database; the next sweep queues it again
+            inFlight.remove(job);
+            log.debug("Keyword extraction queue full, deferring {} item {}", job.lost ? "lost" : "found", job.id);
+        }
+    }
+
+    /** Queue every item still marked pending, e.g. after a restart or a full queue */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.keywords.extraction.sweep-ms:60000}",
+            initialDelayString = "${app.keywords.extraction.sweep-ms:60000}")
+    public void sweep() {
+        List<Long> lostIds = lostRepo.findIdsByKeywordsPending();
+        List<Long> foundIds = foundRepo.findIdsByKeywordsPending();
+        for (Long id : lostIds) submitLost(id);
+        for (Long id : foundIds) submitFound(id);
+        if (!lostIds.isEmpty() || !foundIds.isEmpty()) {
+            log.info("Keyword extraction pending for {} lost and {} found items", lostIds.size(), foundIds.size());
+        }
+    }
+
+    private void work() {
+        try {
+            // Keywords extracted in tokenize-only mode would stay degraded, so wait for the resources
+            keywordProcessor.awaitReady();
+        } catch (InterruptedException e) {
+            return;
+        }
+        List<Job> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                process(batch);
+            } catch (RuntimeException e) {
+                // Items stay pending and are retried by the next sweep
+                log.error("Keyword extraction failed for a batch of {} items: {}", batch.size(), e.getMessage());
+            } finally {
+                inFlight.removeAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Job> batch) {
+        long start = System.currentTimeMillis();
+        List<Long> lostIds = new ArrayList<>();
+        List<Long> foundIds = new ArrayList<>();
+        for (Job job : batch) {
+            (job.lost ? lostIds : foundIds).add(job.id);
+        }
+        if (!lostIds.isEmpty()) {
+            List<LostItem> items = lostRepo.findAllById(lostIds);
+            Map<Long, Set<String>> keywordsByItem = new HashMap<>();
+            for (LostItem item : items) {
+                Set<String> keywords = keywordProcessor.process(item.getTitle(), item.getDescription(),
+                        item.getLocation(), item.getOwnerName());
+                item.setKeywords(String.join(",", keywords));
+                item.setKeywordsPending(false);
+                keywordsByItem.put(item.getId(), keywords);
+            }
+            Map<Long, String> statuses = itemKeywordStore.save(ItemKeyword.ItemType.LOST, keywordsByItem);
+            for (LostItem item : items) {
+                String status = statuses.get(item.getId());
+                if (status == null) continue; // deleted meanwhile
+                item.setStatus(LostItem.Status.valueOf(status));
+                matchingService.lostItemChanged(item);
+            }
+        }
+        if (!foundIds.isEmpty()) {
+            List<FoundItem> items = foundRepo.findAllById(foundIds);
+            Map<Long, Set<String>> keywordsByItem = new HashMap<>();
+            for (FoundItem item : items) {
+                Set<String> keywords = keywordProcessor.process(item.getTitle(), item.getDescription(),
+                        item.getLocation(), item.getReporterName());
+                item.setKeywords(String.join(",", keywords));
+                item.setKeywordsPending(false);
+                keywordsByItem.put(item.getId(), keywords);
+            }
+            Map<Long, String> statuses = itemKeywordStore.save(ItemKeyword.ItemType.FOUND, keywordsByItem);
+            for (FoundItem item : items) {
+                String status = statuses.get(item.getId());
+                if (status == null) continue; // deleted meanwhile
+                item.setStatus(FoundItem.Status.valueOf(status));
+                matchingService.foundItemChanged(item);
+            }
+        }
+        log.debug("Extracted keywords for {} items in {} ms ({} queued)", batch.size(),
+                System.currentTimeMillis() - start, queue.size());
+    }
+
+    @Override
+    public void destroy() {
+        // Unprocessed items are still pending in the database
+        workers.shutdownNow();
+    }
+
+    /** An item waiting for keyword extraction */
+    private static final class Job {
+        private final boolean lost;
+        private final Long id;
+
+        Job(boolean lost, Long id) {
+            this.lost = lost;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Job)) return false;
+            Job other = (Job) o;
+            return lost == other.lost && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lost, id);
+        }
+    }
+}
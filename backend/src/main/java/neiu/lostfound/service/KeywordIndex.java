@@ -0,0 +1,406 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.FoundItem;
+import neiu.lostfound.model.LostItem;
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index (keyword -> item ids) used to pick match candidates
+ * without scanning the item tables. Postings are partitioned by
+ * status + category + subcategory, so a lookup only touches items that could
+ * ever be matched against the query item. Keywords are stored as term ids
+ * from the {@link KeywordDictionary}.
+ *
+ * Within a partition items are also bucketed by epoch day, so candidates
+ * lost or found outside {@code app.matching.date-window-days} of the query
+ * item are pruned before any keyword work. Items without a date are always
+ * candidates.
+ *
+ * RETURNED items are never indexed since they can not change status again.
+ *
+ * A rebuild loads fresh postings off to the side and swaps them in with their
+ * corpus statistics, so lookups keep using the old postings until then. The
+ * first build runs in the background after startup ({@link SearchIndexes}).
+ */
+@Component
+public class KeywordIndex {
+    private static final Logger log = LoggerFactory.getLogger(KeywordIndex.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final KeywordDictionary dictionary;
+    private final CorpusStatistics stats;
+    private volatile Postings lostPostings;
+    private volatile Postings foundPostings;
+    // Postings being loaded by a rebuild, which receive every change too until they are swapped in
+    private volatile Postings nextLostPostings;
+    private volatile Postings nextFoundPostings;
+    private final int dateWindowDays;
+
+    public KeywordIndex(LostItemRepository lostRepo, FoundItemRepository foundRepo, KeywordDictionary dictionary,
+            CorpusStatistics stats, @Value("${app.matching.date-window-days:30}") int dateWindowDays) {
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.dictionary = dictionary;
+        this.stats = stats;
+        this.lostPostings = new Postings(stats);
+        this.foundPostings = new Postings(stats);
+        this.dateWindowDays = dateWindowDays;
+    }
+
+    /**
+     * Reload both sides of the index from the database, a page of (id, status,
+     * category, subcategory, date, keywords) rows at a time, into new postings
+     * that replace the current ones once complete
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Postings lost = new Postings(null);
+        Postings found = new Postings(null);
+        nextLostPostings = lost;
+        nextFoundPostings = found;
+        try {
+            int lostCount = load(lost, (afterId, page) -> lostRepo.findIndexSourcesAfter(afterId,
+                    LostItem.Status.RETURNED, page));
+            int foundCount = load(found, (afterId, page) -> foundRepo.findIndexSourcesAfter(afterId,
+                    FoundItem.Status.RETURNED, page));
+            swap(lost, found);
+            log.info("Keyword index built: {} lost items, {} found items in {} ms", lostCount, foundCount,
+                    System.currentTimeMillis() - start);
+        } finally {
+            nextLostPostings = null;
+            nextFoundPostings = null;
+        }
+    }
+
+    /** Index (id, status, category, subcategory, epochDay, date, keywords) pages; returns the number of items */
+    private int load(Postings postings, BiFunction<Long, Pageable, List<Object[]>> pages) {
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = pages.apply(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (rows.isEmpty()) break;
+            for (Object[] row : rows) {
+                Integer day = row[4] != null ? (Integer) row[4] : ItemDates.epochDay((Date) row[5]);
+                String status = row[1] == null ? "" : ((Enum<?>) row[1]).name();
+                postings.put((Long) row[0], partition(status, (String) row[2], (String) row[3]),
+                        dictionary.encode((String) row[6]), day);
+            }
+            count += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        return count;
+    }
+
+    /**
+     * Make freshly loaded postings current. Statistics are recomputed from
+     * exactly the items they hold while both are locked, and the old postings
+     * stop updating the statistics first, so no change is counted twice or lost.
+     */
+    private void swap(Postings lost, Postings found) {
+        lostPostings.detach();
+        foundPostings.detach();
+        lost.lock.writeLock().lock();
+        found.lock.writeLock().lock();
+        try {
+            CorpusStatistics fresh = new CorpusStatistics();
+            lost.countInto(fresh);
+            found.countInto(fresh);
+            stats.replaceWith(fresh);
+            lost.stats = stats;
+            found.stats = stats;
+            lostPostings = lost;
+            foundPostings = found;
+        } finally {
+            found.lock.writeLock().unlock();
+            lost.lock.writeLock().unlock();
+        }
+    }
+
+    /** Add or re-partition a lost item after it was saved or changed status */
+    public void indexLost(LostItem lost) {
+        if (lost == null || lost.getId() == null) return;
+        if (lost.getStatus() == LostItem.Status.RETURNED) {
+            removeLost(lost.getId());
+            return;
+        }
+        String partition = partition(lost.getStatus() == null ? "" : lost.getStatus().name(), lost.getCategory(),
+                lost.getSubcategory());
+        int[] terms = dictionary.encode(lost.getKeywords());
+        Integer day = ItemDates.epochDay(lost);
+        lostPostings.put(lost.getId(), partition, terms, day);
+        Postings next = nextLostPostings;
+        if (next != null) next.put(lost.getId(), partition, terms, day);
+    }
+
+    /** Add or re-partition a found item after it was saved or changed status */
+    public void indexFound(FoundItem found) {
+        if (found == null || found.getId() == null) return;
+        if (found.getStatus() == FoundItem.Status.RETURNED) {
+            removeFound(found.getId());
+            return;
+        }
+        String partition = partition(found.getStatus() == null ? "" : found.getStatus().name(), found.getCategory(),
+                found.getSubcategory());
+        int[] terms = dictionary.encode(found.getKeywords());
+        Integer day = ItemDates.epochDay(found);
+        foundPostings.put(found.getId(), partition, terms, day);
+        Postings next = nextFoundPostings;
+        if (next != null) next.put(found.getId(), partition, terms, day);
+    }
+
+    public void removeLost(Long lostId) {
+        lostPostings.remove(lostId);
+        Postings next = nextLostPostings;
+        if (next != null) next.remove(lostId);
+    }
+
+    public void removeFound(Long foundId) {
+        foundPostings.remove(foundId);
+        Postings next = nextFoundPostings;
+        if (next != null) next.remove(foundId);
+    }
+
+    /**
+     * OPEN lost items in the same category and subcategory as the found item
+     * that share at least one keyword with it and were lost within the date
+     * window of the found date
+     */
+    public Set<Long> findLostCandidates(FoundItem found) {
+        if (found.getCategory() == null || found.getSubcategory() == null) {
+            return Collections.emptySet();
+        }
+        String key = partition(LostItem.Status.OPEN.name(), found.getCategory(), found.getSubcategory());
+        return lostPostings.candidates(key, termIds(found), dateWindow(ItemDates.epochDay(found)));
+    }
+
+    /**
+     * UNCLAIMED found items in the same category and subcategory as the lost
+     * item that share at least one keyword with it and were found within the
+     * date window of the lost date
+     */
+    public Set<Long> findFoundCandidates(LostItem lost) {
+        if (lost.getCategory() == null || lost.getSubcategory() == null) {
+            return Collections.emptySet();
+        }
+        String key = partition(FoundItem.Status.UNCLAIMED.name(), lost.getCategory(), lost.getSubcategory());
+        return foundPostings.candidates(key, termIds(lost), dateWindow(ItemDates.epochDay(lost)));
+    }
+
+    /** Sorted term ids of a lost item, encoded once when it was indexed */
+    public int[] termIds(LostItem lost) {
+        int[] terms = lostPostings.terms(lost.getId());
+        return terms != null ? terms : dictionary.encode(lost.getKeywords());
+    }
+
+    /** Sorted term ids of a found item, encoded once when it was indexed */
+    public int[] termIds(FoundItem found) {
+        int[] terms = foundPostings.terms(found.getId());
+        return terms != null ? terms : dictionary.encode(found.getKeywords());
+    }
+
+    /** Epoch day range {from, to} around a query day, or null to skip date pruning */
+    private int[] dateWindow(Integer day) {
+        if (day == null || dateWindowDays <= 0) return null;
+        return new int[] { day - dateWindowDays, day + dateWindowDays };
+    }
+
+    private static String partition(String status, String category, String subcategory) {
+        return status + '|' + normalize(category) + '|' + normalize(subcategory);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    /** One side (lost or found) of the index */
+    private static final class Postings {
+        // partition -> term id -> item ids
+        private final Map<String, Map<Integer, Set<Long>>> partitions = new HashMap<>();
+        // partition -> epoch day -> item ids, and the ids of items without a date
+        private final Map<String, NavigableMap<Integer, Set<Long>>> days = new HashMap<>();
+        private final Map<String, Set<Long>> undated = new HashMap<>();
+        // item id -> where it is currently indexed, so it can be removed again
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        // Statistics kept in step with the entries; null while loading or after being replaced
+        private CorpusStatistics stats;
+
+        Postings(CorpusStatistics stats) {
+            this.stats = stats;
+        }
+
+        void put(Long id, String partition, int[] terms, Integer day) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+                if (terms.length == 0) return;
+                Map<Integer, Set<Long>> postings = partitions.computeIfAbsent(partition, p -> new HashMap<>());
+                for (int term : terms) {
+                    postings.computeIfAbsent(term, t -> new HashSet<>()).add(id);
+                }
+                if (day != null) {
+                    days.computeIfAbsent(partition, p -> new TreeMap<>()).computeIfAbsent(day, d -> new HashSet<>())
+                            .add(id);
+                } else {
+                    undated.computeIfAbsent(partition, p -> new HashSet<>()).add(id);
+                }
+                entries.put(id, new Entry(partition, terms, day));
+                if (stats != null) stats.addDocument(terms);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Items of a partition sharing at least one of the sorted {@code terms}.
+         * With a {@code window} of epoch days only items dated inside it (or
+         * undated) are returned; whichever of the date buckets and the keyword
+         * postings is smaller drives the lookup.
+         */
+        Set<Long> candidates(String partition, int[] terms, int[] window) {
+            lock.readLock().lock();
+            try {
+                Map<Integer, Set<Long>> postings = partitions.get(partition);
+                if (postings == null) return Collections.emptySet();
+                if (window == null) {
+                    Set<Long> ids = new HashSet<>();
+                    for (int term : terms) {
+                        Set<Long> posting = postings.get(term);
+                        if (posting != null) ids.addAll(posting);
+                    }
+                    return ids;
+                }
+
+                NavigableMap<Integer, Set<Long>> byDay = days.getOrDefault(partition, Collections.emptyNavigableMap());
+                Collection<Set<Long>> dated = byDay.subMap(window[0], true, window[1], true).values();
+                Set<Long> undatedIds = undated.getOrDefault(partition, Collections.emptySet());
+                int datedSize = undatedIds.size();
+                for (Set<Long> bucket : dated) datedSize += bucket.size();
+                int postingsSize = 0;
+                for (int term : terms) {
+                    Set<Long> posting = postings.get(term);
+                    if (posting != null) postingsSize += posting.size();
+                }
+
+                Set<Long> ids = new HashSet<>();
+                if (datedSize <= postingsSize) {
+                    // Few items in the window: check their keywords directly
+                    for (Set<Long> bucket : dated) addSharingTerm(bucket, terms, ids);
+                    addSharingTerm(undatedIds, terms, ids);
+                } else {
+                    // Few keyword hits: check their dates
+                    for (int term : terms) {
+                        Set<Long> posting = postings.get(term);
+                        if (posting == null) continue;
+                        for (Long id : posting) {
+                            Integer day = entries.get(id).day;
+                            if (day == null || (day >= window[0] && day <= window[1])) ids.add(id);
+                        }
+                    }
+                }
+                return ids;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void addSharingTerm(Set<Long> bucket, int[] terms, Set<Long> ids) {
+            for (Long id : bucket) {
+                if (KeywordDictionary.intersectionSize(entries.get(id).terms, terms) > 0) ids.add(id);
+            }
+        }
+
+        int[] terms(Long id) {
+            lock.readLock().lock();
+            try {
+                Entry entry = entries.get(id);
+                return entry == null ? null : entry.terms;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /** Stop updating the statistics, once these postings are being replaced */
+        void detach() {
+            lock.writeLock().lock();
+            try {
+                stats = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /** Count every indexed item into {@code target}; the caller holds the write lock */
+        void countInto(CorpusStatistics target) {
+            for (Entry entry : entries.values()) {
+                target.addDocument(entry.terms);
+            }
+        }
+
+        private void removeUnlocked(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) return;
+            if (stats != null) stats.removeDocument(entry.terms);
+            Map<Integer, Set<Long>> postings = partitions.get(entry.partition);
+            if (postings != null) {
+                for (int term : entry.terms) {
+                    Set<Long> posting = postings.get(term);
+                    if (posting == null) continue;
+                    posting.remove(id);
+                    if (posting.isEmpty()) postings.remove(term);
+                }
+                if (postings.isEmpty()) partitions.remove(entry.partition);
+            }
+            if (entry.day != null) {
+                NavigableMap<Integer, Set<Long>> byDay = days.get(entry.partition);
+                Set<Long> bucket = byDay == null ? null : byDay.get(entry.day);
+                if (bucket != null) {
+                    bucket.remove(id);
+                    if (bucket.isEmpty()) byDay.remove(entry.day);
+                    if (byDay.isEmpty()) days.remove(entry.partition);
+                }
+            } else {
+                Set<Long> ids = undated.get(entry.partition);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) undated.remove(entry.partition);
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        final String partition;
+        final int[] terms;
+        final Integer day;
+
+        Entry(String partition, int[] terms, Integer day) {
+            this.partition = partition;
+            this.terms = terms;
+            this.day = day;
+        }
+    }
+}
@@ -2,99 +2,223 @@ package neiu.lostfound.service;
 
 import neiu.lostfound.config.StopWordsProvider;
 import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ResourceLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.lang.management.ManagementFactory;
 import java.util.*;
-import java.util.stream.Collectors;
-import com.swabunga.spell.engine.SpellDictionaryHashMap;
-import com.swabunga.spell.engine.SpellDictionary;
-import com.swabunga.spell.event.SpellChecker;
-import net.sf.extjwnl.data.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
 import net.sf.extjwnl.dictionary.Dictionary;
-import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
+/**
+ * Turns item text into keywords: tokenizing, spell correction and WordNet
+ * synonym expansion.
+ *
+ * The spell checking dictionary and the synonym table are loaded on a
+ * background thread (unless {@code app.keywords.background-init} is false),
+ * so they do not hold up application startup. Until they are loaded,
+ * {@link #process} runs in a degraded tokenize-only mode; background callers
+ * wait with {@link #awaitReady} instead, and the "keywordProcessor" health
+ * indicator reports OUT_OF_SERVICE so the readiness probe holds traffic back.
+ */
 @Component
-public class KeywordProcessor {
+public class KeywordProcessor implements InitializingBean {
     private static final Logger log = LoggerFactory.getLogger(KeywordProcessor.class);
     private final StopWordsProvider stopWordsProvider;
-    private final SpellChecker spellChecker;
-    private final Dictionary wordNetDictionary;
     private final ResourceLoader resourceLoader;
+    private final SpellCorrectionCache spellCache;
+    private final KeywordTokenizer tokenizer;
+    private final String spellCorrectorName;
+    private final String symSpellIndexFile;
+    private final String synonymTableFile;
+    private final boolean backgroundInit;
+    // Swapped in as a whole once loaded, so a call never mixes loaded and missing resources
+    private volatile Resources resources = new Resources(null, null);
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private final LongAdder degradedCalls = new LongAdder();
+    private volatile long loadMillis = -1;
 
     @Autowired
-    public KeywordProcessor(StopWordsProvider stopWordsProvider, ResourceLoader resourceLoader) {
+    public KeywordProcessor(StopWordsProvider stopWordsProvider, ResourceLoader resourceLoader,
+            @Value("${app.keywords.spell-cache-size:50000}") int spellCacheSize,
+            @Value("${app.keywords.spell-corrector:jazzy}") String spellCorrectorName,
+            @Value("${app.keywords.symspell-index-file:data/symspell-english.idx}") String symSpellIndexFile,
+            @Value("${app.keywords.synonym-table-file:data/wordnet-noun-synonyms.bin}") String synonymTableFile,
+            @Value("${app.keywords.background-init:true}") boolean backgroundInit) {
         this.stopWordsProvider = stopWordsProvider;
         this.resourceLoader = resourceLoader;
-        SpellChecker sc = null;
-        Dictionary wnd = null;
+        this.spellCache = new SpellCorrectionCache(spellCacheSize);
+        this.tokenizer = new KeywordTokenizer(stopWordsProvider.getStopwords());
+        if (!JazzySpellCorrector.NAME.equalsIgnoreCase(spellCorrectorName)
+                && !SymSpellCorrector.NAME.equalsIgnoreCase(spellCorrectorName)) {
+            throw new IllegalStateException("Unknown spell corrector: " + spellCorrectorName);
+        }
+        this.spellCorrectorName = spellCorrectorName;
+        this.symSpellIndexFile = symSpellIndexFile;
+        this.synonymTableFile = synonymTableFile;
+        this.backgroundInit = backgroundInit;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (backgroundInit) {
+            Thread loader = new Thread(this::loadResources, "keyword-resources");
+            loader.setDaemon(true);
+            loader.start();
+        } else {
+            loadResources();
+        }
+    }
+
+    private void loadResources() {
+        long start = System.currentTimeMillis();
+        try {
+            resources = new Resources(loadSpellCorrector(), loadSynonymTable(Path.of(synonymTableFile)));
+        } finally {
+            loadMillis = System.currentTimeMillis() - start;
+            ready.countDown();
+        }
+        log.info("Keyword resources ready in {} ms ({} ms after JVM start)", loadMillis,
+                ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /** Whether spell checking and synonym resources are loaded (or known to be unavailable) */
+    public boolean isReady() {
+        return ready.getCount() == 0;
+    }
+
+    /** Wait until the resources are loaded; loading always ends, if need be with resources disabled */
+    public void awaitReady() throws InterruptedException {
+        ready.await();
+    }
+
+    /** Time the resources took to load, or -1 while loading */
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    /** Calls answered in tokenize-only mode because the resources were still loading */
+    public long getDegradedCalls() {
+        return degradedCalls.sum();
+    }
+
+    /** Name of the loaded spell corrector, or null if spell correction is disabled */
+    public String getSpellCorrectorName() {
+        SpellCorrector corrector = resources.spellCorrector;
+        return corrector == null ? null : corrector.name();
+    }
+
+    public boolean isSynonymExpansionEnabled() {
+        return resources.synonymTable != null;
+    }
+
+    private SpellCorrector loadSpellCorrector() {
         try {
             var dictResource = resourceLoader.getResource("classpath:dict/english.0");
-            if (dictResource.exists()) {
-                SpellDictionary dict = new SpellDictionaryHashMap(dictResource.getFile());
-                sc = new SpellChecker(dict);
+            if (!dictResource.exists()) {
+                log.warn("Dictionary file dict/english.0 not found. Spell correction will be disabled.");
+                return null;
+            }
+            long start = System.currentTimeMillis();
+            SpellCorrector sc;
+            if (JazzySpellCorrector.NAME.equalsIgnoreCase(spellCorrectorName)) {
+                sc = JazzySpellCorrector.load(dictResource);
             } else {
-                log.warn("Jazzy dictionary file dict/english.0 not found. Spell correction will be disabled.");
+                sc = SymSpellCorrector.load(dictResource, Path.of(symSpellIndexFile));
             }
-            // JWNL WordNet initialization (fallback if not present)
-            try {
-                wnd = Dictionary.getDefaultResourceInstance();
-            } catch (Exception e) {
-                log.warn("WordNet dictionary not found or failed to initialize. Synonym expansion will be disabled.");
+            log.info("Using {} spell corrector, loaded in {} ms", sc.name(), System.currentTimeMillis() - start);
+            return sc;
+        } catch (Exception e) {
+            log.error("Failed to initialize spell checker: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Map the flattened WordNet noun synonyms, building the file from the
+     * WordNet resources first if it does not exist yet
+     */
+    private static SynonymTable loadSynonymTable(Path file) {
+        try {
+            if (!Files.exists(file)) {
+                long start = System.currentTimeMillis();
+                Dictionary wordNet = Dictionary.getDefaultResourceInstance();
+                try {
+                    SynonymTable.build(wordNet, file);
+                } finally {
+                    wordNet.close();
+                }
+                log.info("Built WordNet synonym table {} in {} ms", file, System.currentTimeMillis() - start);
             }
+            return SynonymTable.open(file);
         } catch (Exception e) {
-            log.error("Failed to initialize spell checker or WordNet: {}", e.getMessage());
+            log.warn("WordNet synonym table not available ({}). Synonym expansion will be disabled.", e.getMessage());
+            return null;
         }
-        this.spellChecker = sc;
-        this.wordNetDictionary = wnd;
     }
 
     /**
      * Process input text to extract corrected and synonym-expanded keywords
      */
     public Set<String> process(String... texts) {
-        Set<String> stopwords = stopWordsProvider.getStopwords();
-        Set<String> keywords = Arrays.stream(texts)
-                .filter(Objects::nonNull)
-                .map(String::toLowerCase)
-                .flatMap(t -> Arrays.stream(t.split("\\W+")))
-                .filter(w -> w.length() > 2 && !stopwords.contains(w))
-                .map(this::spellCorrect)
-                .collect(Collectors.toSet());
+        if (!isReady()) degradedCalls.increment();
+        Resources r = resources;
+        Set<String> keywords = new HashSet<>();
+        tokenizer.tokenize((buffer, length) -> keywords.add(spellCorrect(r, new String(buffer, 0, length))), texts);
 
         Set<String> expanded = new HashSet<>(keywords);
         for (String k : keywords) {
-            expanded.addAll(getSynonyms(k));
+            expanded.addAll(getSynonyms(r, k));
         }
         return expanded;
     }
 
-    /** Correct spelling of a word using Jazzy */
-    private String spellCorrect(String word) {
-        if (spellChecker == null) return word;
-        List<?> suggestions = spellChecker.getSuggestions(word, 2);
-        if (!suggestions.isEmpty()) {
-            return suggestions.get(0).toString();
+    /** Correct spelling of a word, remembering the result for the next item using it */
+    private String spellCorrect(Resources r, String word) {
+        if (r.spellCorrector == null) return word;
+        return spellCache.get(word, r.spellCorrector::correct);
+    }
+
+    /**
+     * Run the spell correction of the given keywords ahead of time, e.g. the
+     * vocabulary of items already stored, so later items reuse the results.
+     * Stops once limit keywords were newly cached; returns how many were.
+     */
+    public int warmSpellCache(Collection<String> words, int limit) {
+        SpellCorrector spellCorrector = resources.spellCorrector;
+        if (spellCorrector == null) return 0;
+        int warmed = 0;
+        for (String word : words) {
+            if (warmed >= limit) break;
+            if (spellCache.warm(word, spellCorrector::correct)) warmed++;
         }
-        return word;
+        return warmed;
+    }
+
+    public SpellCorrectionCache getSpellCache() {
+        return spellCache;
     }
 
     /** Get synonyms from WordNet */
-    private Set<String> getSynonyms(String word) {
-        Set<String> result = new HashSet<>();
-        if (wordNetDictionary == null) return result;
-        try {
-            IndexWord indexWord = wordNetDictionary.lookupIndexWord(POS.NOUN, word);
-            if (indexWord == null) return result;
-            for (Synset synset : indexWord.getSenses()) {
-                for (Word w : synset.getWords()) {
-                    result.add(w.getLemma().replace('_', ' '));
-                }
-            }
-        } catch (Exception e) {
-            // Log or handle errors
+    private Set<String> getSynonyms(Resources r, String word) {
+        if (r.synonymTable == null) return new HashSet<>();
+        return r.synonymTable.synonyms(word);
+    }
+
+    /** Loaded spell corrector and synonym table; either may be null if unavailable */
+    private static final class Resources {
+        private final SpellCorrector spellCorrector;
+        private final SynonymTable synonymTable;
+
+        Resources(SpellCorrector spellCorrector, SynonymTable synonymTable) {
+            this.spellCorrector = spellCorrector;
+            this.synonymTable = synonymTable;
         }
-        return result;
     }
 }
@@ -0,0 +1,36 @@
+package neiu.lostfound.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports "keywordProcessor" OUT_OF_SERVICE while the spell checking and
+ * synonym resources are still loading, so the readiness probe
+ * (/actuator/health/readiness) only passes once keywords are extracted in
+ * full rather than in tokenize-only mode.
+ */
+@Component
+public class KeywordProcessorHealthIndicator implements HealthIndicator {
+    private final KeywordProcessor keywordProcessor;
+
+    public KeywordProcessorHealthIndicator(KeywordProcessor keywordProcessor) {
+        this.keywordProcessor = keywordProcessor;
+    }
+
+    @Override
+    public Health health() {
+        if (!keywordProcessor.isReady()) {
+            return Health.outOfService()
+                    .withDetail("degradedCalls", keywordProcessor.getDegradedCalls())
+                    .build();
+        }
+        String spellCorrector = keywordProcessor.getSpellCorrectorName();
+        return Health.up()
+                .withDetail("spellCorrector", spellCorrector == null ? "disabled" : spellCorrector)
+                .withDetail("synonyms", keywordProcessor.isSynonymExpansionEnabled() ? "enabled" : "disabled")
+                .withDetail("loadMillis", keywordProcessor.getLoadMillis())
+                .withDetail("degradedCalls", keywordProcessor.getDegradedCalls())
+                .build();
+    }
+}
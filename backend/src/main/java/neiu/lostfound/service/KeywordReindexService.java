@@ -0,0 +1,249 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.dto.ReindexStatus;
+import neiu.lostfound.model.ItemKeyword;
+import neiu.lostfound.model.ReindexJob;
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.ItemMatchRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import neiu.lostfound.repository.ReindexJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admin-triggered rebuild of every item's keywords, e.g. after stopwords.txt,
+ * the spell checking dictionary or WordNet changed.
+ *
+ * Items are read in id-ordered chunks of only the fields keywords come from
+ * (never the whole table, never the images), each chunk is processed in
+ * parallel on a worker pool and written back with JDBC batch updates. After
+ * every chunk the last id is saved in the {@link ReindexJob}, so a run that
+ * was interrupted (restart, failure, cancel) resumes from there. Once all
+ * items are done the in-memory keyword index is rebuilt and stored text
+ * scores are marked stale.
+ */
+@Service
+public class KeywordReindexService implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(KeywordReindexService.class);
+
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final ItemMatchRepository matchRepo;
+    private final ReindexJobRepository jobRepo;
+    private final KeywordProcessor keywordProcessor;
+    private final ItemKeywordStore itemKeywordStore;
+    private final KeywordIndex keywordIndex;
+    private final MatchMatrix matchMatrix;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService workers;
+    private final ExecutorService runner;
+
+    private volatile boolean running = false;
+    private volatile boolean cancelRequested = false;
+    // Throughput of the current run, which may have resumed part way through
+    private volatile long runStartedAt;
+    private volatile long runStartProcessed;
+
+    public KeywordReindexService(LostItemRepository lostRepo,
+            FoundItemRepository foundRepo,
+            ItemMatchRepository matchRepo,
+            ReindexJobRepository jobRepo,
+            KeywordProcessor keywordProcessor,
+            ItemKeywordStore itemKeywordStore,
+            KeywordIndex keywordIndex,
+            MatchMatrix matchMatrix,
+            @Value("${app.keywords.reindex.chunk-size:1000}") int chunkSize,
+            @Value("${app.keywords.reindex.workers:0}") int workers) {
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.matchRepo = matchRepo;
+        this.jobRepo = jobRepo;
+        this.keywordProcessor = keywordProcessor;
+        this.itemKeywordStore = itemKeywordStore;
+        this.keywordIndex = keywordIndex;
+        this.matchMatrix = matchMatrix;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.parallelism = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "reindex-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.runner = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "reindex-runner");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start a run in the background. Unless restart is set, an unfinished
+     * previous run is resumed from its checkpoint. Throws
+     * IllegalStateException if a run is already in progress.
+     */
+    public synchronized ReindexStatus start(String adminUser, boolean restart) {
+        if (running)
+            throw new IllegalStateException("A keyword re-index is already running");
+        ReindexJob job = restart ? null : jobRepo.findTopByOrderByIdDesc()
+                .filter(j -> j.getStatus() != ReindexJob.Status.COMPLETED)
+                .orElse(null);
+        if (job == null) {
+            job = new ReindexJob();
+            job.setStartedAt(new Date());
+            job.setTotalItems(lostRepo.count() + foundRepo.count());
+            log.info("Keyword re-index of {} items started by {}", job.getTotalItems(), adminUser);
+        } else {
+            log.info("Keyword re-index {} resumed by {} after lost id {} / found id {}", job.getId(), adminUser,
+                    job.getLastLostId(), job.getLastFoundId());
+        }
+        job.setStartedBy(adminUser);
+        job.setStatus(ReindexJob.Status.RUNNING);
+        job.setError(null);
+        job.setUpdatedAt(new Date());
+        ReindexJob saved = jobRepo.save(job);
+
+        running = true;
+        cancelRequested = false;
+        runStartedAt = System.currentTimeMillis();
+        runStartProcessed = saved.getProcessedItems();
+        runner.execute(() -> run(saved));
+        return status();
+    }
+
+    /** Ask the current run to stop after its current chunk; it can be resumed later */
+    public boolean cancel() {
+        if (!running) return false;
+        cancelRequested = true;
+        return true;
+    }
+
+    public ReindexStatus status() {
+        ReindexJob job = jobRepo.findTopByOrderByIdDesc().orElse(null);
+        if (job == null) return new ReindexStatus(null, false, 0);
+        double itemsPerSecond;
+        if (running) {
+            long elapsed = System.currentTimeMillis() - runStartedAt;
+            itemsPerSecond = elapsed == 0 ? 0 : (job.getProcessedItems() - runStartProcessed) * 1000.0 / elapsed;
+        } else {
+            Date end = job.getFinishedAt() != null ? job.getFinishedAt() : job.getUpdatedAt();
+            long elapsed = end == null || job.getStartedAt() == null ? 0 : end.getTime() - job.getStartedAt().getTime();
+            itemsPerSecond = elapsed <= 0 ? 0 : job.getProcessedItems() * 1000.0 / elapsed;
+        }
+        return new ReindexStatus(job, running, itemsPerSecond);
+    }
+
+    /** A run that was in progress when the application stopped continues after startup */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        jobRepo.findTopByOrderByIdDesc()
+                .filter(j -> j.getStatus() == ReindexJob.Status.RUNNING)
+                .ifPresent(j -> start(j.getStartedBy(), false));
+    }
+
+    private void run(ReindexJob job) {
+        try {
+            keywordProcessor.awaitReady();
+            while (!cancelRequested) {
+                List<Object[]> rows = lostRepo.findKeywordSourcesAfter(job.getLastLostId(), PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) break;
+                itemKeywordStore.save(ItemKeyword.ItemType.LOST, extract(rows));
+                checkpoint(job, rows, true);
+            }
+            while (!cancelRequested) {
+                List<Object[]> rows = foundRepo.findKeywordSourcesAfter(job.getLastFoundId(), PageRequest.of(0, chunkSize));
+                if (rows.isEmpty()) break;
+                itemKeywordStore.save(ItemKeyword.ItemType.FOUND, extract(rows));
+                checkpoint(job, rows, false);
+            }
+            if (cancelRequested) {
+                finish(job, ReindexJob.Status.CANCELLED, null);
+                return;
+            }
+            // Matching reads keywords from the in-memory index and reuses stored scores
+            keywordIndex.rebuild();
+            int stale = matchRepo.invalidateTextScores();
+            synchronized (matchMatrix.lock()) {
+                matchMatrix.clear();
+            }
+            log.info("Marked {} stored match scores for recomputation", stale);
+            finish(job, ReindexJob.Status.COMPLETED, null);
+        } catch (InterruptedException e) {
+            // Shutting down: the job stays RUNNING and resumes on the next start
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Keyword re-index {} failed after lost id {} / found id {}: {}", job.getId(),
+                    job.getLastLostId(), job.getLastFoundId(), e.getMessage());
+            finish(job, ReindexJob.Status.FAILED, e.getMessage());
+        } finally {
+            running = false;
+        }
+    }
+
+    /** Keywords of each (id, title, description, location, name) row, extracted in parallel */
+    private Map<Long, Set<String>> extract(List<Object[]> rows) {
+        int slices = Math.min(parallelism, rows.size());
+        int sliceSize = (rows.size() + slices - 1) / slices;
+        List<Future<Map<Long, Set<String>>>> futures = new ArrayList<>(slices);
+        for (int from = 0; from < rows.size(); from += sliceSize) {
+            List<Object[]> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+            futures.add(workers.submit(() -> {
+                Map<Long, Set<String>> result = new HashMap<>(2 * slice.size());
+                for (Object[] row : slice) {
+                    result.put((Long) row[0], keywordProcessor.process(
+                            (String) row[1], (String) row[2], (String) row[3], (String) row[4]));
+                }
+                return result;
+            }));
+        }
+        Map<Long, Set<String>> keywordsByItem = new LinkedHashMap<>(2 * rows.size());
+        try {
+            for (Future<Map<Long, Set<String>>> future : futures) {
+                keywordsByItem.putAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while extracting keywords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Keyword extraction failed", e.getCause());
+        }
+        return keywordsByItem;
+    }
+
+    private void checkpoint(ReindexJob job, List<Object[]> rows, boolean lost) {
+        long lastId = (Long) rows.get(rows.size() - 1)[0];
+        if (lost) job.setLastLostId(lastId);
+        else job.setLastFoundId(lastId);
+        job.setProcessedItems(job.getProcessedItems() + rows.size());
+        job.setUpdatedAt(new Date());
+        jobRepo.save(job);
+        log.debug("Keyword re-index {}: {} of {} items", job.getId(), job.getProcessedItems(), job.getTotalItems());
+    }
+
+    private void finish(ReindexJob job, ReindexJob.Status status, String error) {
+        job.setStatus(status);
+        job.setError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)));
+        job.setUpdatedAt(new Date());
+        if (status == ReindexJob.Status.COMPLETED) job.setFinishedAt(new Date());
+        jobRepo.save(job);
+        log.info("Keyword re-index {} {}: {} items", job.getId(), status, job.getProcessedItems());
+    }
+
+    @Override
+    public void destroy() {
+        // An unfinished run stays RUNNING in the database and resumes on the next start
+        runner.shutdownNow();
+        workers.shutdownNow();
+    }
+}
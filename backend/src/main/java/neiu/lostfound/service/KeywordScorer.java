@@ -0,0 +1,24 @@
+package neiu.lostfound.service;
+
+/**
+ * Scores the keyword similarity between a query item and a candidate item.
+ * Implementations are Spring beans; {@code app.matching.keyword-scorer}
+ * selects the one used by {@link MatchingService}.
+ */
+public interface KeywordScorer {
+
+    /** Name used to select this scorer in configuration */
+    String name();
+
+    /** Prepare per-query state once, before scoring its candidates */
+    Query prepare(int[] queryTerms);
+
+    interface Query {
+        /**
+         * Keyword similarity in [0, 1] of a candidate with the given sorted term
+         * ids, of which the first {@code overlap} entries of {@code shared} are
+         * also query terms
+         */
+        double score(int[] docTerms, int[] shared, int overlap);
+    }
+}
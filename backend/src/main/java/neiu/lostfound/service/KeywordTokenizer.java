@@ -0,0 +1,112 @@
+package neiu.lostfound.service;
+
+import java.util.Collection;
+
+/**
+ * Splits text into lowercase keyword tokens without regexes or intermediate
+ * strings. Each input is scanned once; characters are lowercased one at a
+ * time into a per-thread buffer while the token hash is computed, so short
+ * tokens and stopwords are dropped before anything is allocated.
+ *
+ * Tokens are runs of [a-z0-9_] after lowercasing, the same as splitting the
+ * lowercased text on \W+; tokens shorter than {@link #MIN_LENGTH} characters
+ * are skipped.
+ */
+public final class KeywordTokenizer {
+    static final int MIN_LENGTH = 3;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    /** Receives each token; the buffer is reused for the next token */
+    @FunctionalInterface
+    public interface TokenSink {
+        void accept(char[] buffer, int length);
+    }
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[MAX_TOKEN_LENGTH]);
+
+    // Stopwords in an open addressing table, probed with the hash computed during the scan
+    private final char[][] stopwords;
+    private final int mask;
+
+    public KeywordTokenizer(Collection<String> stopwords) {
+        int capacity = Integer.highestOneBit(Math.max(2, stopwords.size() * 2 - 1)) << 1;
+        this.stopwords = new char[capacity][];
+        this.mask = capacity - 1;
+        for (String word : stopwords) {
+            char[] chars = word.toCharArray();
+            int slot = hash(chars, chars.length) & mask;
+            while (this.stopwords[slot] != null) {
+                if (equal(this.stopwords[slot], chars, chars.length)) break;
+                slot = (slot + 1) & mask;
+            }
+            this.stopwords[slot] = chars;
+        }
+    }
+
+    /** Emit the keyword tokens of every non-null text */
+    public void tokenize(TokenSink sink, String... texts) {
+        char[] buffer = BUFFER.get();
+        for (String text : texts) {
+            if (text == null) continue;
+            int length = 0;
+            int hash = 0;
+            int n = text.length();
+            for (int i = 0; i <= n; i++) {
+                char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+                if (isWordChar(c)) {
+                    if (length == buffer.length) {
+                        buffer = grow(buffer);
+                    }
+                    buffer[length++] = c;
+                    hash = 31 * hash + c;
+                } else if (length > 0) {
+                    if (length >= MIN_LENGTH && !isStopword(buffer, length, hash)) {
+                        sink.accept(buffer, length);
+                    }
+                    length = 0;
+                    hash = 0;
+                }
+            }
+        }
+    }
+
+    private boolean isStopword(char[] buffer, int length, int hash) {
+        for (int slot = mix(hash) & mask; stopwords[slot] != null; slot = (slot + 1) & mask) {
+            if (equal(stopwords[slot], buffer, length)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean equal(char[] word, char[] buffer, int length) {
+        if (word.length != length) return false;
+        for (int i = 0; i < length; i++) {
+            if (word[i] != buffer[i]) return false;
+        }
+        return true;
+    }
+
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /** Replace this thread's buffer with a larger one for an unusually long token */
+    private static char[] grow(char[] buffer) {
+        char[] larger = new char[buffer.length * 2];
+        System.arraycopy(buffer, 0, larger, 0, buffer.length);
+        BUFFER.set(larger);
+        return larger;
+    }
+}
@@ -0,0 +1,137 @@
+package neiu.lostfound.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process materialized view of the text-based match scores between
+ * UNCLAIMED found items and OPEN lost items. Each found item has a row of
+ * scored lost candidates kept sorted by score (highest first), so the admin
+ * dashboard reads precomputed results instead of recomputing the cross product.
+ *
+ * Rows are immutable lists and are swapped as a whole, so reads need no
+ * locking. Writers are expected to serialize on {@link #lock()}.
+ */
+@Component
+public class MatchMatrix {
+    private static final Comparator<Entry> BY_SCORE_DESC = Comparator
+            .comparingInt(Entry::getScore).reversed()
+            .thenComparing(Entry::getLostItemId);
+
+    // found id -> scored lost candidates, highest score first
+    private final Map<Long, List<Entry>> rows = new ConcurrentHashMap<>();
+    // lost id -> found id -> the lost item's entry in that found item's row
+    private final Map<Long, Map<Long, Entry>> columns = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private volatile boolean built = false;
+    private volatile ScoringPipeline pipeline;
+
+    public Object lock() {
+        return lock;
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /** Mark the matrix built with every score computed by {@code pipeline} */
+    public void markBuilt(ScoringPipeline pipeline) {
+        this.pipeline = pipeline;
+        built = true;
+    }
+
+    /** The pipeline the matrix was built with, which later cells must be scored with too; null until built */
+    public ScoringPipeline pipeline() {
+        return pipeline;
+    }
+
+    public void clear() {
+        rows.clear();
+        columns.clear();
+        built = false;
+        pipeline = null;
+    }
+
+    public List<Entry> getRow(Long foundId) {
+        return rows.getOrDefault(foundId, Collections.emptyList());
+    }
+
+    /**
+     * Entries of a lost item across all rows, keyed by found item id. This is
+     * the lost side of the matrix, kept in step with the rows.
+     */
+    public Map<Long, Entry> getColumn(Long lostId) {
+        Map<Long, Entry> column = columns.get(lostId);
+        return column == null ? Collections.emptyMap() : new HashMap<>(column);
+    }
+
+    /** Replace the whole row of a found item */
+    public void putRow(Long foundId, List<Entry> entries) {
+        removeRow(foundId);
+        List<Entry> row = new ArrayList<>(entries);
+        row.sort(BY_SCORE_DESC);
+        rows.put(foundId, Collections.unmodifiableList(row));
+        for (Entry e : row) {
+            columns.computeIfAbsent(e.getLostItemId(), id -> new ConcurrentHashMap<>()).put(foundId, e);
+        }
+    }
+
+    public void removeRow(Long foundId) {
+        List<Entry> row = rows.remove(foundId);
+        if (row == null) return;
+        for (Entry e : row) {
+            Map<Long, Entry> column = columns.get(e.getLostItemId());
+            if (column == null) continue;
+            column.remove(foundId);
+            if (column.isEmpty()) columns.remove(e.getLostItemId());
+        }
+    }
+
+    /** Insert or replace one lost item in an existing found row */
+    public void putCell(Long foundId, Entry entry) {
+        List<Entry> current = rows.get(foundId);
+        if (current == null) return; // row not materialized (found item not UNCLAIMED)
+        List<Entry> row = new ArrayList<>(current.size() + 1);
+        for (Entry e : current) {
+            if (!e.getLostItemId().equals(entry.getLostItemId())) row.add(e);
+        }
+        row.add(entry);
+        row.sort(BY_SCORE_DESC);
+        rows.put(foundId, Collections.unmodifiableList(row));
+        columns.computeIfAbsent(entry.getLostItemId(), id -> new ConcurrentHashMap<>()).put(foundId, entry);
+    }
+
+    /** Drop a lost item from every row it appears in */
+    public void removeColumn(Long lostId) {
+        Map<Long, Entry> column = columns.remove(lostId);
+        if (column == null) return;
+        for (Long foundId : column.keySet()) {
+            List<Entry> current = rows.get(foundId);
+            if (current == null) continue;
+            List<Entry> row = new ArrayList<>(current.size());
+            for (Entry e : current) {
+                if (!e.getLostItemId().equals(lostId)) row.add(e);
+            }
+            rows.put(foundId, Collections.unmodifiableList(row));
+        }
+    }
+
+    /** A scored lost item within a found item's row */
+    public static final class Entry {
+        private final Long lostItemId;
+        private final int score;
+        private final String reason;
+
+        public Entry(Long lostItemId, int score, String reason) {
+            this.lostItemId = lostItemId;
+            this.score = score;
+            this.reason = reason;
+        }
+
+        public Long getLostItemId() { return lostItemId; }
+        public int getScore() { return score; }
+        public String getReason() { return reason; }
+    }
+}
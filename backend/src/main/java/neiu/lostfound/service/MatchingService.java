@@ -4,21 +4,33 @@ import neiu.lostfound.dto.FoundItemWithMatches;
 import neiu.lostfound.dto.MatchResult;
 import neiu.lostfound.model.*;
 import neiu.lostfound.repository.*;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class MatchingService {
     private static final Logger logger = LoggerFactory.getLogger(MatchingService.class);
     private static final int AI_TIMEOUT_SECONDS = 30; // Timeout for AI calls (increased for free tier models)
+    private static final int SCORING_LEAF_SIZE = 256; // Pairs scored per fork/join leaf task
+    private static final int LOAD_CHUNK_SIZE = 1000; // Ids per findAllById query
+    private static final int STREAM_PAGE_SIZE = 50; // Found items loaded at a time when streaming
+    private static final int SCORING_VERSION = 1; // Bump whenever the text score formula changes
+    private static final int REASON_KEYWORDS = 10; // Shared keywords listed in a match reason
+    private static final int REASON_LENGTH = 1000; // Size of the item_matches.text_reason column
     
     private final LostItemRepository lostRepo;
     private final FoundItemRepository foundRepo;
@@ -26,173 +38,330 @@ public class MatchingService {
     private final HandoffQueueRepository handoffRepo;
     private final EmailNotificationService emailNotifications;
     private final GeminiMatchingService geminiMatchingService;
+    private final KeywordIndex keywordIndex;
+    private final KeywordDictionary keywordDictionary;
+    private final MatchMatrix matchMatrix;
+    private final TentativeMatchWriter tentativeMatchWriter;
+    private final KeywordScorer keywordScorer;
+    private final ScoringProfileService scoringProfile;
+    private final DuplicateIndex duplicateIndex;
+    private final SearchIndexes searchIndexes;
+    private final EntityManager entityManager;
+    private final boolean lshPrefilter;
     private final ExecutorService aiExecutor;
+    private final ForkJoinPool scoringPool;
+    private final int parallelThreshold;
 
     public MatchingService(LostItemRepository lostRepo,
             FoundItemRepository foundRepo,
             ItemMatchRepository matchRepo,
             HandoffQueueRepository handoffRepo,
             EmailNotificationService emailNotifications,
-            GeminiMatchingService geminiMatchingService) {
+            GeminiMatchingService geminiMatchingService,
+            KeywordIndex keywordIndex,
+            KeywordDictionary keywordDictionary,
+            MatchMatrix matchMatrix,
+            TentativeMatchWriter tentativeMatchWriter,
+            List<KeywordScorer> keywordScorers,
+            @Value("${app.matching.keyword-scorer:bm25}") String keywordScorerName,
+            ScoringProfileService scoringProfile,
+            DuplicateIndex duplicateIndex,
+            SearchIndexes searchIndexes,
+            EntityManager entityManager,
+            @Value("${app.matching.lsh-prefilter:false}") boolean lshPrefilter,
+            @Value("${app.matching.parallelism:0}") int parallelism,
+            @Value("${app.matching.parallel-threshold:2000}") int parallelThreshold) {
         this.lostRepo = lostRepo;
         this.foundRepo = foundRepo;
         this.matchRepo = matchRepo;
         this.handoffRepo = handoffRepo;
         this.emailNotifications = emailNotifications;
         this.geminiMatchingService = geminiMatchingService;
+        this.keywordIndex = keywordIndex;
+        this.keywordDictionary = keywordDictionary;
+        this.matchMatrix = matchMatrix;
+        this.tentativeMatchWriter = tentativeMatchWriter;
+        this.keywordScorer = keywordScorers.stream()
+                .filter(scorer -> scorer.name().equalsIgnoreCase(keywordScorerName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown keyword scorer: " + keywordScorerName));
+        logger.info("Using {} keyword scorer", keywordScorer.name());
+        this.scoringProfile = scoringProfile;
+        this.duplicateIndex = duplicateIndex;
+        this.searchIndexes = searchIndexes;
+        this.entityManager = entityManager;
+        this.lshPrefilter = lshPrefilter;
         // Thread pool for parallel AI calls (max 10 concurrent)
         this.aiExecutor = Executors.newFixedThreadPool(10);
+        // Dedicated fork/join pool for CPU-bound scoring (defaults to one thread per core)
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelThreshold = parallelThreshold;
     }
 
-    public List<LostItem> findMatchesForFound(Long foundId) {
+    @PreDestroy
+    public void shutdown() {
+        scoringPool.shutdown();
+    }
+
+    /**
+     * Lost items sharing the most keywords with a found item (at most
+     * {@code limit} of them, each with a text score of at least
+     * {@code minScore}). Tentative matches are queued for every overlapping
+     * candidate.
+     */
+    public List<LostItem> findMatchesForFound(Long foundId, int limit, int minScore) {
         Optional<FoundItem> foundOpt = foundRepo.findById(foundId);
         if (foundOpt.isEmpty())
             return Collections.emptyList();
         FoundItem found = foundOpt.get();
         if (found.getKeywords() == null || found.getKeywords().isBlank())
             return Collections.emptyList();
-        Set<String> foundKeywords = new HashSet<>(Arrays.asList(found.getKeywords().split(",")));
-
-        // Filter by category AND subcategory - both must match
-        // IMPORTANT: Exclude RETURNED items and items with confirmed matches (MATCHED
-        // status)
-        List<LostItem> allLost = lostRepo.findAll().stream()
-                .filter(item -> {
-                    // Exclude RETURNED items
-                    if (item.getStatus() == LostItem.Status.RETURNED) {
-                        return false;
-                    }
-
-                    // Exclude items that already have confirmed matches (MATCHED status)
-                    if (item.getStatus() == LostItem.Status.MATCHED) {
-                        return false;
-                    }
-
-                    // Category must match
-                    boolean categoryMatches = found.getCategory() != null &&
-                            found.getCategory().equalsIgnoreCase(item.getCategory());
-
-                    // Subcategory must match
-                    boolean subcategoryMatches = found.getSubcategory() != null &&
-                            found.getSubcategory().equalsIgnoreCase(item.getSubcategory());
-
-                    return categoryMatches && subcategoryMatches;
-                })
-                .collect(Collectors.toList());
-
-        List<LostItem> matches = new ArrayList<>();
-        int maxOverlap = 0;
-        for (LostItem lost : allLost) {
+        int[] foundTerms = keywordIndex.termIds(found);
+        ScoringPipeline pipeline = scoringProfile.current();
+        String scoringModel = scoringModel(pipeline);
+
+        // Only OPEN lost items in the same category/subcategory that share at least
+        // one keyword are ever scored
+        List<LostItem> candidates = findLostCandidates(found);
+
+        // All existing matches for this found item in one query
+        ItemMatchLookup existing = new ItemMatchLookup(matchRepo.findByFoundItemId(found.getId()));
+        List<ItemMatch> tentativeMatches = new ArrayList<>();
+        KeywordScorer.Query query = keywordScorer.prepare(foundTerms);
+        int[] shared = new int[foundTerms.length];
+
+        // Keep only the best candidates by overlap (older reports win ties)
+        TopK<Map.Entry<LostItem, Integer>> best = new TopK<>(Math.max(limit, 1),
+                Comparator.<Map.Entry<LostItem, Integer>>comparingInt(Map.Entry::getValue)
+                        .thenComparing(e -> e.getKey().getId(), Comparator.reverseOrder()));
+        for (LostItem lost : candidates) {
             if (lost.getKeywords() == null || lost.getKeywords().isBlank())
                 continue;
-            List<ItemMatch> existingMatches = matchRepo.findByLostItemIdAndFoundItemId(lost.getId(), found.getId());
-            boolean isConfirmed = existingMatches.stream().anyMatch(m -> m.getStatus() == ItemMatch.Status.CONFIRMED);
-            if (isConfirmed)
+            if (existing.isConfirmed(lost.getId(), found.getId()))
                 continue;
 
-            Set<String> lostKeywords = new HashSet<>(Arrays.asList(lost.getKeywords().split(",")));
-            Set<String> intersection = new HashSet<>(foundKeywords);
-            intersection.retainAll(lostKeywords);
-            int overlap = intersection.size();
+            int overlap = KeywordDictionary.intersectionSize(foundTerms, keywordIndex.termIds(lost));
             if (overlap > 0) {
+                boolean isNew = !existing.exists(lost.getId(), found.getId());
+                // Scores are only needed for new tentative matches and the minScore cut
+                MatchMatrix.Entry scored = isNew || minScore > 0
+                        ? scorePair(pipeline, found, foundTerms, query, lost, shared)
+                        : null;
                 // Auto-create tentative match if not already present
-                if (existingMatches.isEmpty()) {
+                if (isNew) {
                     ItemMatch tentative = new ItemMatch();
                     tentative.setLostItemId(lost.getId());
                     tentative.setFoundItemId(found.getId());
                     tentative.setStatus(ItemMatch.Status.TENTATIVE);
                     tentative.setMatchedBy("system");
                     tentative.setMatchedAt(new Date());
-                    matchRepo.save(tentative);
-                }
-                if (overlap > maxOverlap) {
-                    matches.clear();
-                    matches.add(lost);
-                    maxOverlap = overlap;
-                } else if (overlap == maxOverlap) {
-                    matches.add(lost);
+                    if (scored != null)
+                        storeTextScore(tentative, scored, scoringModel);
+                    tentativeMatches.add(tentative);
                 }
+                if (minScore > 0 && (scored == null || scored.getScore() < minScore))
+                    continue;
+                best.offer(new AbstractMap.SimpleEntry<>(lost, overlap));
             }
         }
+        // New tentative matches are written behind, outside this read
+        tentativeMatches.forEach(tentativeMatchWriter::enqueue);
+
+        // Only the candidates tied for the highest overlap are returned
+        List<LostItem> matches = new ArrayList<>();
+        int maxOverlap = 0;
+        for (Map.Entry<LostItem, Integer> e : best.toSortedList()) {
+            if (e.getValue() < maxOverlap)
+                break;
+            maxOverlap = e.getValue();
+            matches.add(e.getKey());
+        }
         return matches;
     }
 
-    public ItemMatch confirmMatch(Long lostId, Long foundId, String adminUser) {
+    /**
+     * Found items that best match a lost item (at most {@code limit} of them,
+     * each with a text score of at least {@code minScore}), highest text score
+     * first; older reports win ties. This is the lost side of
+     * the same engine: the match matrix column of the lost item is kept current
+     * by {@link #lostItemChanged} as soon as the item is stored, and before the
+     * matrix is built the lost item is scored straight from the keyword index.
+     * Tentative matches are queued for the returned found items.
+     */
+    public List<FoundItem> findMatchesForLost(Long lostId, int limit, int minScore) {
         Optional<LostItem> lostOpt = lostRepo.findById(lostId);
-        Optional<FoundItem> foundOpt = foundRepo.findById(foundId);
+        if (lostOpt.isEmpty())
+            return Collections.emptyList();
+        LostItem lost = lostOpt.get();
+        if (lost.getStatus() != LostItem.Status.OPEN)
+            return Collections.emptyList();
+
+        Map<Long, FoundItem> foundById = new HashMap<>();
+        Map<Long, MatchMatrix.Entry> column;
+        // Matrix scores are labeled with the pipeline they were computed by
+        ScoringPipeline pipeline = matchMatrix.pipeline();
+        if (pipeline != null) {
+            column = matchMatrix.getColumn(lostId);
+        } else {
+            pipeline = scoringProfile.current();
+            column = new HashMap<>();
+            for (Map.Entry<FoundItem, MatchMatrix.Entry> e : scoreColumn(lost, pipeline).entrySet()) {
+                column.put(e.getKey().getId(), e.getValue());
+                foundById.put(e.getKey().getId(), e.getKey());
+            }
+        }
+
+        TopK<Map.Entry<Long, MatchMatrix.Entry>> best = new TopK<>(Math.max(limit, 1),
+                Comparator.<Map.Entry<Long, MatchMatrix.Entry>>comparingInt(e -> e.getValue().getScore())
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()));
+        for (Map.Entry<Long, MatchMatrix.Entry> e : column.entrySet()) {
+            if (e.getValue().getScore() >= minScore)
+                best.offer(e);
+        }
+        List<Long> foundIds = new ArrayList<>();
+        for (Map.Entry<Long, MatchMatrix.Entry> e : best.toSortedList()) {
+            foundIds.add(e.getKey());
+        }
+        if (foundById.isEmpty() && !foundIds.isEmpty()) {
+            for (FoundItem found : foundRepo.findAllById(foundIds)) {
+                foundById.put(found.getId(), found);
+            }
+        }
+
+        // All existing matches for this lost item in one query
+        ItemMatchLookup existing = new ItemMatchLookup(matchRepo.findByLostItemId(lostId));
+        List<ItemMatch> tentativeMatches = new ArrayList<>();
+        List<FoundItem> matches = new ArrayList<>(foundIds.size());
+        String scoringModel = scoringModel(pipeline);
+        for (Long foundId : foundIds) {
+            FoundItem found = foundById.get(foundId);
+            if (found == null || found.getStatus() != FoundItem.Status.UNCLAIMED)
+                continue;
+            if (!existing.exists(lostId, foundId)) {
+                ItemMatch tentative = new ItemMatch();
+                tentative.setLostItemId(lostId);
+                tentative.setFoundItemId(foundId);
+                tentative.setStatus(ItemMatch.Status.TENTATIVE);
+                tentative.setMatchedBy("system");
+                tentative.setMatchedAt(new Date());
+                storeTextScore(tentative, column.get(foundId), scoringModel);
+                tentativeMatches.add(tentative);
+            }
+            matches.add(found);
+        }
+        // New tentative matches are written behind, outside this read
+        tentativeMatches.forEach(tentativeMatchWriter::enqueue);
+        return matches;
+    }
+
+    /**
+     * Load the lost items the keyword index returns for a found item. The rows
+     * are re-checked in case the index is behind the table.
+     */
+    private List<LostItem> findLostCandidates(FoundItem found) {
+        Set<Long> candidateIds = lostCandidateIds(found);
+        if (candidateIds.isEmpty())
+            return Collections.emptyList();
+        return lostRepo.findAllById(candidateIds).stream()
+                .filter(item -> isCandidate(found, item))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Ids of the lost items sharing a keyword with the found item. With the LSH
+     * pre-filter enabled, only those whose title/description also share a
+     * MinHash bucket with it are kept.
+     */
+    private Set<Long> lostCandidateIds(FoundItem found) {
+        Set<Long> ids = keywordIndex.findLostCandidates(found);
+        if (lshPrefilter && !ids.isEmpty()) {
+            Set<Long> similar = duplicateIndex.lostCandidates(found);
+            if (similar != null)
+                ids.retainAll(similar);
+        }
+        return ids;
+    }
+
+    /** Ids of the found items sharing a keyword with the lost item, see {@link #lostCandidateIds} */
+    private Set<Long> foundCandidateIds(LostItem lost) {
+        Set<Long> ids = keywordIndex.findFoundCandidates(lost);
+        if (lshPrefilter && !ids.isEmpty()) {
+            Set<Long> similar = duplicateIndex.foundCandidates(lost);
+            if (similar != null)
+                ids.retainAll(similar);
+        }
+        return ids;
+    }
+
+    private boolean isCandidate(FoundItem found, LostItem item) {
+        // Exclude RETURNED items and items that already have confirmed matches
+        // (MATCHED status)
+        if (item.getStatus() != LostItem.Status.OPEN) {
+            return false;
+        }
+
+        // Category AND subcategory must match
+        boolean categoryMatches = found.getCategory() != null &&
+                found.getCategory().equalsIgnoreCase(item.getCategory());
+        boolean subcategoryMatches = found.getSubcategory() != null &&
+                found.getSubcategory().equalsIgnoreCase(item.getSubcategory());
+
+        return categoryMatches && subcategoryMatches;
+    }
+
+    /**
+     * Confirm a lost/found pair as one transaction with a constant number of
+     * statements, however many tentative matches the items have. Both item
+     * rows are locked first, so concurrent confirmations of either item are
+     * serialized and the second one sees the first one's result.
+     */
+    @Transactional
+    public ItemMatch confirmMatch(Long lostId, Long foundId, String adminUser) {
+        // Always lock lost before found so two confirmations can not deadlock
+        Optional<LostItem> lostOpt = lostRepo.findByIdForUpdate(lostId);
+        Optional<FoundItem> foundOpt = foundRepo.findByIdForUpdate(foundId);
         if (lostOpt.isEmpty() || foundOpt.isEmpty())
             return null;
 
         LostItem lost = lostOpt.get();
         FoundItem found = foundOpt.get();
+        // Queued tentative matches of either item must not come back after this
+        tentativeMatchWriter.discard(lostId, foundId);
 
         // Check if this found item already has a confirmed match with a different lost
         // item
         Optional<ItemMatch> existingConfirmed = matchRepo.findByFoundItemIdAndStatus(foundId,
                 ItemMatch.Status.CONFIRMED);
-        if (existingConfirmed.isPresent() && !existingConfirmed.get().getLostItemId().equals(lostId)) {
-            throw new IllegalStateException("Found item is already matched with another lost item");
-        }
-
-        // CRITICAL: Delete ALL other tentative matches for both this lost item and
-        // found item
-        List<ItemMatch> allMatchesForLost = matchRepo.findByLostItemId(lostId);
-        List<ItemMatch> allMatchesForFound = matchRepo.findByFoundItemId(foundId);
-
-        // Find the match we're confirming (if it exists as TENTATIVE)
-        ItemMatch matchToConfirm = null;
-        List<ItemMatch> matchesToDelete = new ArrayList<>();
-
-        for (ItemMatch m : allMatchesForLost) {
-            if (m.getLostItemId().equals(lostId) && m.getFoundItemId().equals(foundId)) {
-                matchToConfirm = m; // This is the one we'll update
-            } else {
-                matchesToDelete.add(m); // Delete other matches for this lost item
+        if (existingConfirmed.isPresent()) {
+            if (!existingConfirmed.get().getLostItemId().equals(lostId)) {
+                throw new IllegalStateException("Found item is already matched with another lost item");
             }
+            // Same pair confirmed twice: nothing left to do
+            return existingConfirmed.get();
         }
-
-        for (ItemMatch m : allMatchesForFound) {
-            if (m.getLostItemId().equals(lostId) && m.getFoundItemId().equals(foundId)) {
-                if (matchToConfirm == null) {
-                    matchToConfirm = m; // Found it in the found item's matches
-                }
-            } else {
-                if (!matchesToDelete.contains(m)) { // Avoid duplicates
-                    matchesToDelete.add(m); // Delete other matches for this found item
-                }
-            }
+        Optional<ItemMatch> lostConfirmed = matchRepo.findByLostItemIdAndStatus(lostId, ItemMatch.Status.CONFIRMED);
+        if (lostConfirmed.isPresent()) {
+            throw new IllegalStateException("Lost item is already matched with another found item");
         }
 
-        // Delete all other matches
-        if (!matchesToDelete.isEmpty()) {
-            matchRepo.deleteAll(matchesToDelete);
-        }
+        // Update the existing TENTATIVE match OR create a new one if it doesn't exist
+        List<ItemMatch> pair = matchRepo.findByLostItemIdAndFoundItemId(lostId, foundId);
+        ItemMatch match = pair.isEmpty() ? new ItemMatch() : pair.get(0);
+        match.setLostItemId(lostId);
+        match.setFoundItemId(foundId);
+        match.setStatus(ItemMatch.Status.CONFIRMED);
+        match.setMatchedBy(adminUser);
+        match.setMatchedAt(new Date());
+        ItemMatch savedMatch = matchRepo.save(match);
+
+        // CRITICAL: Delete ALL other matches for both this lost item and found item
+        matchRepo.deleteOtherMatches(lostId, foundId, savedMatch.getId());
 
-        // Update item statuses
+        // Update item statuses (bulk updates detach the loaded items)
+        lostRepo.updateStatus(lostId, LostItem.Status.MATCHED);
+        foundRepo.updateStatus(foundId, FoundItem.Status.MATCHED);
         lost.setStatus(LostItem.Status.MATCHED);
         found.setStatus(FoundItem.Status.MATCHED);
-        lostRepo.save(lost);
-        foundRepo.save(found);
-
-        // Update existing match OR create new one if doesn't exist
-        ItemMatch match;
-        if (matchToConfirm != null) {
-            // Update the existing TENTATIVE match to CONFIRMED
-            match = matchToConfirm;
-            match.setStatus(ItemMatch.Status.CONFIRMED);
-            match.setMatchedBy(adminUser);
-            match.setMatchedAt(new Date());
-        } else {
-            // No existing match found, create new CONFIRMED match
-            match = new ItemMatch();
-            match.setLostItemId(lostId);
-            match.setFoundItemId(foundId);
-            match.setStatus(ItemMatch.Status.CONFIRMED);
-            match.setMatchedBy(adminUser);
-            match.setMatchedAt(new Date());
-        }
-
-        ItemMatch savedMatch = matchRepo.save(match);
 
         // Auto-create handoff when confirming match
         HandoffQueue handoff = new HandoffQueue();
@@ -203,12 +372,33 @@ public class MatchingService {
         handoff.setNotes("Auto-created from confirmed match");
         HandoffQueue savedHandoff = handoffRepo.save(handoff);
 
-        emailNotifications.sendMatchConfirmation(lost, found);
-        emailNotifications.notifyHandoffCreated(savedHandoff);
+        // In-memory indexes and emails only follow a committed confirmation; pairs
+        // queued while it ran are dropped again
+        afterCommit(() -> {
+            tentativeMatchWriter.discard(lostId, foundId);
+            lostItemChanged(lost);
+            foundItemChanged(found);
+            emailNotifications.sendMatchConfirmation(lost, found);
+            emailNotifications.notifyHandoffCreated(savedHandoff);
+        });
 
         return savedMatch;
     }
 
+    /** Run an action once the current transaction commits, or right away without one */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     public ItemMatch createTentativeMatch(Long lostId, Long foundId, String adminUser) {
         Optional<LostItem> lostOpt = lostRepo.findById(lostId);
         Optional<FoundItem> foundOpt = foundRepo.findById(foundId);
@@ -223,11 +413,82 @@ public class MatchingService {
         return matchRepo.save(match);
     }
 
-    public List<FoundItemWithMatches> getAllFoundItemsWithMatches() {
+    /**
+     * Every non-returned found item with its potential matches. Only the
+     * {@code limit} best matches scoring at least {@code minScore} are
+     * returned per item; totalMatches still counts all of them.
+     */
+    public List<FoundItemWithMatches> getAllFoundItemsWithMatches(int limit, int minScore) {
+        ensureMatrixBuilt();
+
         // Show UNCLAIMED and MATCHED found items (exclude only RETURNED)
-        List<FoundItem> allFoundItems = foundRepo.findAll().stream()
-                .filter(item -> item.getStatus() != FoundItem.Status.RETURNED)
-                .collect(Collectors.toList());
+        return buildFoundItemsWithMatches(foundRepo.findByStatusNot(FoundItem.Status.RETURNED), limit, minScore);
+    }
+
+    /**
+     * One page of {@link #getAllFoundItemsWithMatches}, ordered by found item id.
+     * The page starts after {@code afterId} (null for the first page) and holds at
+     * most {@code pageSize} items; a shorter page is the last one.
+     */
+    public List<FoundItemWithMatches> getFoundItemsWithMatchesPage(Long afterId, int pageSize, int limit,
+            int minScore) {
+        ensureMatrixBuilt();
+        List<FoundItem> page = foundRepo.findByStatusNotAndIdGreaterThanOrderByIdAsc(FoundItem.Status.RETURNED,
+                afterId == null ? 0L : afterId, PageRequest.of(0, pageSize));
+        return buildFoundItemsWithMatches(page, limit, minScore);
+    }
+
+    /**
+     * Hand every non-returned found item with its matches to {@code consumer}, in
+     * id order. Items are loaded and built one small page at a time, so memory use
+     * does not grow with the number of found items.
+     *
+     * Must not run inside a transaction: the persistence context (which
+     * open-in-view keeps for the whole request, streaming thread included) is
+     * cleared after every page so the loaded items and their images can be
+     * collected.
+     */
+    public void forEachFoundItemWithMatches(int limit, int minScore, Consumer<FoundItemWithMatches> consumer) {
+        Long cursor = null;
+        while (true) {
+            List<FoundItemWithMatches> page = getFoundItemsWithMatchesPage(cursor, STREAM_PAGE_SIZE, limit, minScore);
+            for (FoundItemWithMatches item : page) {
+                consumer.accept(item);
+            }
+            entityManager.clear();
+            if (page.size() < STREAM_PAGE_SIZE)
+                return;
+            cursor = page.get(page.size() - 1).getFoundItem().getId();
+        }
+    }
+
+    private List<FoundItemWithMatches> buildFoundItemsWithMatches(List<FoundItem> allFoundItems, int limit,
+            int minScore) {
+        // Pick the top entries of every precomputed row and load the lost items they reference
+        Map<Long, List<MatchMatrix.Entry>> topEntries = new HashMap<>();
+        Map<Long, Integer> totals = new HashMap<>();
+        Set<Long> lostIds = new HashSet<>();
+        for (FoundItem found : allFoundItems) {
+            if (found.getStatus() == FoundItem.Status.UNCLAIMED) {
+                List<MatchMatrix.Entry> row = matchMatrix.getRow(found.getId());
+                int total = countAtLeast(row, minScore);
+                List<MatchMatrix.Entry> top = row.subList(0, Math.min(total, limit));
+                for (MatchMatrix.Entry e : top) {
+                    lostIds.add(e.getLostItemId());
+                }
+                topEntries.put(found.getId(), top);
+                totals.put(found.getId(), total);
+            }
+        }
+        // ...and every ItemMatch row for the listed found items in one query
+        ItemMatchLookup existing = ItemMatchLookup.forFoundItems(matchRepo,
+                allFoundItems.stream().map(FoundItem::getId).collect(Collectors.toList()));
+        for (FoundItem found : allFoundItems) {
+            if (found.getStatus() == FoundItem.Status.MATCHED) {
+                existing.findConfirmed(found.getId()).ifPresent(m -> lostIds.add(m.getLostItemId()));
+            }
+        }
+        Map<Long, LostItem> lostById = loadLostItems(lostIds);
 
         List<FoundItemWithMatches> result = new ArrayList<>();
 
@@ -238,14 +499,14 @@ public class MatchingService {
 
             if (found.getStatus() == FoundItem.Status.MATCHED) {
                 // Item is already matched - show only the confirmed match, no potential matches
-                matchResults = getConfirmedMatchOnly(found);
+                matchResults = getConfirmedMatchOnly(found, existing, lostById);
                 confirmed = matchResults.isEmpty() ? 0 : 1;
                 total = 0; // No potential matches
             } else {
-                // Item is UNCLAIMED - find potential matches
-                matchResults = findMatchesWithConfidence(found);
+                // Item is UNCLAIMED - read its precomputed potential matches
+                matchResults = findMatchesWithConfidence(found, topEntries.get(found.getId()), existing, lostById);
                 confirmed = (int) matchResults.stream().filter(MatchResult::isConfirmed).count();
-                total = matchResults.size();
+                total = totals.get(found.getId());
             }
 
             FoundItemWithMatches itemWithMatches = new FoundItemWithMatches();
@@ -260,161 +521,445 @@ public class MatchingService {
         return result;
     }
 
-    private List<MatchResult> getConfirmedMatchOnly(FoundItem found) {
+    private List<MatchResult> getConfirmedMatchOnly(FoundItem found, ItemMatchLookup existing,
+            Map<Long, LostItem> lostById) {
         // Find the confirmed match for this found item
-        Optional<ItemMatch> confirmedMatch = matchRepo.findByFoundItemIdAndStatus(
-                found.getId(),
-                ItemMatch.Status.CONFIRMED);
+        Optional<ItemMatch> confirmedMatch = existing.findConfirmed(found.getId());
 
         if (confirmedMatch.isEmpty()) {
             return Collections.emptyList();
         }
 
         ItemMatch match = confirmedMatch.get();
-        Optional<LostItem> lostOpt = lostRepo.findById(match.getLostItemId());
+        LostItem lost = lostById.get(match.getLostItemId());
 
-        if (lostOpt.isEmpty()) {
+        if (lost == null) {
             return Collections.emptyList();
         }
 
-        LostItem lost = lostOpt.get();
-
         // Build match result with 100% confidence since it's confirmed
         String reason = "Confirmed match by " + match.getMatchedBy();
         MatchResult result = new MatchResult(lost, 100, reason, true);
+        result.setTextConfidenceScore(match.getTextScore());
+        result.setTextMatchReason(match.getTextReason());
+        result.setAiConfidenceScore(match.getAiScore());
+        result.setAiReasoning(match.getAiReasoning());
 
         return Collections.singletonList(result);
     }
 
-    private List<MatchResult> findMatchesWithConfidence(FoundItem found) {
-        if (found.getKeywords() == null || found.getKeywords().isBlank()) {
-            return Collections.emptyList();
+    /** Number of leading row entries scoring at least minScore (rows are sorted, highest first) */
+    private static int countAtLeast(List<MatchMatrix.Entry> row, int minScore) {
+        int lo = 0, hi = row.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (row.get(mid).getScore() >= minScore) lo = mid + 1;
+            else hi = mid;
         }
+        return lo;
+    }
 
-        Set<String> foundKeywords = new HashSet<>(Arrays.asList(found.getKeywords().split(",")));
+    private List<MatchResult> findMatchesWithConfidence(FoundItem found, List<MatchMatrix.Entry> entries,
+            ItemMatchLookup existing, Map<Long, LostItem> lostById) {
+        List<MatchResult> results = new ArrayList<>(entries.size());
 
-        // Filter by category AND subcategory - both must match
-        // IMPORTANT: Exclude RETURNED items and items with confirmed matches (MATCHED
-        // status)
-        List<LostItem> allLost = lostRepo.findAll().stream()
-                .filter(item -> {
-                    // Exclude RETURNED items
-                    if (item.getStatus() == LostItem.Status.RETURNED) {
-                        return false;
-                    }
+        // Entries are already sorted by confidence score (highest first)
+        for (MatchMatrix.Entry entry : entries) {
+            LostItem lost = lostById.get(entry.getLostItemId());
+            if (lost == null)
+                continue;
 
-                    // Exclude items that already have confirmed matches (MATCHED status)
-                    if (item.getStatus() == LostItem.Status.MATCHED) {
-                        return false;
-                    }
+            // Check if already confirmed
+            boolean isConfirmed = existing.isConfirmed(lost.getId(), found.getId());
 
-                    // Category must match
-                    boolean categoryMatches = found.getCategory() != null &&
-                            found.getCategory().equalsIgnoreCase(item.getCategory());
+            MatchResult result = new MatchResult(lost, entry.getScore(), entry.getReason(), isConfirmed);
 
-                    // Subcategory must match
-                    boolean subcategoryMatches = found.getSubcategory() != null &&
-                            found.getSubcategory().equalsIgnoreCase(item.getSubcategory());
+            // Set text-based results
+            result.setTextConfidenceScore(entry.getScore());
+            result.setTextMatchReason(entry.getReason());
 
-                    return categoryMatches && subcategoryMatches;
-                })
-                .collect(Collectors.toList());
+            // AI fields come from the last on-demand analysis, if one was stored
+            ItemMatch analyzed = findAnalyzed(existing.get(lost.getId(), found.getId()));
+            result.setAiConfidenceScore(analyzed != null ? analyzed.getAiScore() : null);
+            result.setAiReasoning(analyzed != null ? analyzed.getAiReasoning() : null);
+            result.setAiMatchingFeatures(null);
+            result.setAiDiscrepancies(null);
 
-        List<MatchResult> results = new ArrayList<>();
+            results.add(result);
+        }
+        return results;
+    }
 
-        for (LostItem lost : allLost) {
-            if (lost.getKeywords() == null || lost.getKeywords().isBlank())
+    /**
+     * Keep the keyword index and the match matrix in sync after a lost item
+     * was created, edited or changed status
+     */
+    public void lostItemChanged(LostItem lost) {
+        keywordIndex.indexLost(lost);
+        duplicateIndex.indexLost(lost);
+        synchronized (matchMatrix.lock()) {
+            if (!matchMatrix.isBuilt())
+                return; // picked up by the first full build
+            matchMatrix.removeColumn(lost.getId());
+            if (lost.getStatus() != LostItem.Status.OPEN)
+                return;
+            for (Map.Entry<FoundItem, MatchMatrix.Entry> e : scoreColumn(lost, matchMatrix.pipeline()).entrySet()) {
+                matchMatrix.putCell(e.getKey().getId(), e.getValue());
+            }
+        }
+    }
+
+    /**
+     * Score an OPEN lost item against the UNCLAIMED found items the keyword
+     * index returns for it. Only the lost item's candidates are touched, so a
+     * new lost report never causes a global rescan.
+     */
+    private Map<FoundItem, MatchMatrix.Entry> scoreColumn(LostItem lost, ScoringPipeline pipeline) {
+        Set<Long> foundIds = foundCandidateIds(lost);
+        if (foundIds.isEmpty())
+            return Collections.emptyMap();
+        Map<FoundItem, MatchMatrix.Entry> column = new HashMap<>();
+        for (FoundItem found : foundRepo.findAllById(foundIds)) {
+            if (found.getStatus() != FoundItem.Status.UNCLAIMED || !isCandidate(found, lost))
                 continue;
+            int[] foundTerms = keywordIndex.termIds(found);
+            MatchMatrix.Entry entry = scorePair(pipeline, found, foundTerms, keywordScorer.prepare(foundTerms), lost,
+                    new int[foundTerms.length]);
+            if (entry != null)
+                column.put(found, entry);
+        }
+        return column;
+    }
 
-            // Calculate text-based score only (AI analysis done on-demand)
-            int textScore = calculateTextBasedConfidenceScore(found, lost, foundKeywords);
-            String textReason = buildTextBasedMatchReason(found, lost, foundKeywords);
-            
-            if (textScore > 0) {
-                // Check if already confirmed
-                List<ItemMatch> existingMatches = matchRepo.findByLostItemIdAndFoundItemId(lost.getId(), found.getId());
-                boolean isConfirmed = existingMatches.stream()
-                        .anyMatch(m -> m.getStatus() == ItemMatch.Status.CONFIRMED);
-
-                MatchResult result = new MatchResult(lost, textScore, textReason, isConfirmed);
-                
-                // Set text-based results
-                result.setTextConfidenceScore(textScore);
-                result.setTextMatchReason(textReason);
-                
-                // AI fields will be null (populated on-demand via separate endpoint)
-                result.setAiConfidenceScore(null);
-                result.setAiReasoning(null);
-                result.setAiMatchingFeatures(null);
-                result.setAiDiscrepancies(null);
-                
-                results.add(result);
+    /**
+     * Keep the keyword index and the match matrix in sync after a found item
+     * was created, edited or changed status
+     */
+    public void foundItemChanged(FoundItem found) {
+        keywordIndex.indexFound(found);
+        duplicateIndex.indexFound(found);
+        synchronized (matchMatrix.lock()) {
+            if (!matchMatrix.isBuilt())
+                return; // picked up by the first full build
+            if (found.getStatus() == FoundItem.Status.UNCLAIMED) {
+                matchMatrix.putRow(found.getId(), scoreRow(found, matchMatrix.pipeline()));
+            } else {
+                matchMatrix.removeRow(found.getId());
             }
         }
+    }
 
-        // Sort by confidence score (highest first)
-        results.sort((a, b) -> Integer.compare(b.getConfidenceScore(), a.getConfidenceScore()));
-        return results;
+    /** Build the match matrix from scratch on first use */
+    private void ensureMatrixBuilt() {
+        if (matchMatrix.isBuilt())
+            return;
+        try {
+            // Candidates come from the indexes, so a matrix built before them would miss items
+            searchIndexes.awaitReady();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the search indexes", e);
+        }
+        synchronized (matchMatrix.lock()) {
+            if (matchMatrix.isBuilt())
+                return;
+            long start = System.currentTimeMillis();
+            // One pipeline for the whole build, so every row and stored score agree
+            ScoringPipeline pipeline = scoringProfile.current();
+            String scoringModel = scoringModel(pipeline);
+            List<FoundItem> unclaimed = foundRepo.findByStatusNot(FoundItem.Status.RETURNED).stream()
+                    .filter(item -> item.getStatus() == FoundItem.Status.UNCLAIMED)
+                    .collect(Collectors.toList());
+
+            // All repository access happens here, before going parallel: candidate ids
+            // come from the in-memory index and the lost rows are loaded up front
+            Map<Long, Set<Long>> candidateIds = new HashMap<>();
+            Set<Long> allLostIds = new HashSet<>();
+            int pairs = 0;
+            for (FoundItem found : unclaimed) {
+                Set<Long> ids = lostCandidateIds(found);
+                candidateIds.put(found.getId(), ids);
+                allLostIds.addAll(ids);
+                pairs += ids.size();
+            }
+            Map<Long, LostItem> lostById = loadLostItems(allLostIds);
+            // Scores stored by the current scoring model are reused, stale ones are
+            // recomputed and written back
+            ItemMatchLookup stored = ItemMatchLookup.forFoundItems(matchRepo,
+                    unclaimed.stream().map(FoundItem::getId).collect(Collectors.toList()));
+            Queue<ItemMatch> refreshed = new ConcurrentLinkedQueue<>();
+
+            Map<Long, List<MatchMatrix.Entry>> rows = new ConcurrentHashMap<>();
+            if (pairs >= parallelThreshold) {
+                scoringPool.invoke(new BuildRowsTask(pipeline, scoringModel, unclaimed, 0, unclaimed.size(),
+                        candidateIds, lostById, stored, refreshed, rows));
+            } else {
+                for (FoundItem found : unclaimed) {
+                    rows.put(found.getId(), buildRow(pipeline, scoringModel, found, candidateIds.get(found.getId()),
+                            lostById, stored, refreshed));
+                }
+            }
+            for (FoundItem found : unclaimed) {
+                matchMatrix.putRow(found.getId(), rows.getOrDefault(found.getId(), Collections.emptyList()));
+            }
+            matchMatrix.markBuilt(pipeline);
+            tentativeMatchWriter.updateTextScores(refreshed);
+            logger.info("Match matrix built for {} unclaimed found items ({} candidate pairs, {} stored scores refreshed) in {} ms",
+                    unclaimed.size(), pairs, refreshed.size(), System.currentTimeMillis() - start);
+        }
     }
 
-    private int calculateTextBasedConfidenceScore(FoundItem found, LostItem lost, Set<String> foundKeywords) {
-        // Calculate keyword-based confidence score
-        Set<String> lostKeywords = new HashSet<>(Arrays.asList(lost.getKeywords().split(",")));
-        Set<String> intersection = new HashSet<>(foundKeywords);
-        intersection.retainAll(lostKeywords);
+    /**
+     * Matrix row of a found item. Pairs with a score stored by the current
+     * scoring model are read back; the rest are scored, and the new scores of
+     * any stale stored rows of those pairs are queued in {@code refreshed}
+     * (as detached copies, so the loaded rows are never written back whole).
+     */
+    private List<MatchMatrix.Entry> buildRow(ScoringPipeline pipeline, String scoringModel, FoundItem found,
+            Set<Long> candidateIds, Map<Long, LostItem> lostById, ItemMatchLookup stored, Queue<ItemMatch> refreshed) {
+        List<MatchMatrix.Entry> row = new ArrayList<>();
+        List<LostItem> candidates = new ArrayList<>(candidateIds.size());
+        for (Long lostId : candidateIds) {
+            LostItem lost = lostById.get(lostId);
+            if (lost == null || !isCandidate(found, lost))
+                continue;
+            ItemMatch current = findCurrent(stored.get(lostId, found.getId()), scoringModel);
+            if (current != null) {
+                if (current.getTextScore() > 0)
+                    row.add(new MatchMatrix.Entry(lostId, current.getTextScore(), current.getTextReason()));
+            } else {
+                candidates.add(lost);
+            }
+        }
+        for (MatchMatrix.Entry entry : scoreCandidates(pipeline, found, candidates)) {
+            for (ItemMatch stale : stored.get(entry.getLostItemId(), found.getId())) {
+                ItemMatch update = new ItemMatch();
+                update.setId(stale.getId());
+                storeTextScore(update, entry, scoringModel);
+                refreshed.add(update);
+            }
+            row.add(entry);
+        }
+        return row;
+    }
 
-        if (intersection.isEmpty())
-            return 0;
+    /** Record a text score and the model that computed it on a match row */
+    private static void storeTextScore(ItemMatch match, MatchMatrix.Entry entry, String scoringModel) {
+        match.setTextScore(entry.getScore());
+        match.setTextReason(entry.getReason());
+        match.setScoringModel(scoringModel);
+        match.setComputedAt(new Date());
+    }
 
-        int score = 0;
+    /**
+     * Identifies how text scores are computed with {@code pipeline}: keyword
+     * scorer, formula version and weights version. Stored scores of any other
+     * model are stale.
+     */
+    private String scoringModel(ScoringPipeline pipeline) {
+        return keywordScorer.name() + "-v" + SCORING_VERSION + "-w" + pipeline.version();
+    }
 
-        // Keyword overlap (0-60 points)
-        double keywordRatio = (double) intersection.size() / Math.max(foundKeywords.size(), lostKeywords.size());
-        score += (int) (keywordRatio * 60);
+    /** The first of a pair's match rows whose stored text score is current, or null */
+    private static ItemMatch findCurrent(List<ItemMatch> matches, String scoringModel) {
+        for (ItemMatch m : matches) {
+            if (m.getTextScore() != null && scoringModel.equals(m.getScoringModel()))
+                return m;
+        }
+        return null;
+    }
 
-        // Category match (20 points)
-        if (found.getCategory() != null && lost.getCategory() != null &&
-                found.getCategory().equalsIgnoreCase(lost.getCategory())) {
-            score += 20;
+    /** The first of a pair's match rows with a stored AI analysis, or null */
+    private static ItemMatch findAnalyzed(List<ItemMatch> matches) {
+        for (ItemMatch m : matches) {
+            if (m.getAiScore() != null)
+                return m;
         }
+        return null;
+    }
 
-        // Subcategory match (10 points)
-        if (found.getSubcategory() != null && lost.getSubcategory() != null &&
-                found.getSubcategory().equalsIgnoreCase(lost.getSubcategory())) {
-            score += 10;
-        }
-
-        // Date proximity (0-10 points) - closer dates = higher score
-        if (found.getDateFound() != null && lost.getDateLost() != null) {
-            try {
-                LocalDate foundDate = found.getDateFound().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                LocalDate lostDate = lost.getDateLost().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                long daysDiff = Math.abs(ChronoUnit.DAYS.between(foundDate, lostDate));
-
-                if (daysDiff == 0)
-                    score += 10;
-                else if (daysDiff <= 3)
-                    score += 7;
-                else if (daysDiff <= 7)
-                    score += 5;
-                else if (daysDiff <= 14)
-                    score += 3;
-            } catch (UnsupportedOperationException e) {
-                // Skip date scoring if conversion fails (e.g., java.sql.Date)
+    private Map<Long, LostItem> loadLostItems(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        Map<Long, LostItem> lostById = new HashMap<>();
+        for (int i = 0; i < all.size(); i += LOAD_CHUNK_SIZE) {
+            for (LostItem lost : lostRepo.findAllById(all.subList(i, Math.min(i + LOAD_CHUNK_SIZE, all.size())))) {
+                lostById.put(lost.getId(), lost);
+            }
+        }
+        return lostById;
+    }
+
+    /** Score every candidate lost item for a found item */
+    private List<MatchMatrix.Entry> scoreRow(FoundItem found, ScoringPipeline pipeline) {
+        if (found.getKeywords() == null || found.getKeywords().isBlank()) {
+            return Collections.emptyList();
+        }
+
+        // Only OPEN lost items in the same category/subcategory that share at least
+        // one keyword are ever scored
+        List<LostItem> candidates = findLostCandidates(found);
+        return scoreCandidates(pipeline, found, candidates);
+    }
+
+    /**
+     * Score already loaded candidates. Large candidate sets are split across the
+     * scoring pool; callers must not touch repositories from inside this method.
+     */
+    private List<MatchMatrix.Entry> scoreCandidates(ScoringPipeline pipeline, FoundItem found,
+            List<LostItem> candidates) {
+        int[] foundTerms = keywordIndex.termIds(found);
+        KeywordScorer.Query query = keywordScorer.prepare(foundTerms);
+        if (candidates.size() < parallelThreshold || ForkJoinTask.inForkJoinPool()) {
+            return scoreRange(pipeline, found, foundTerms, query, candidates, 0, candidates.size());
+        }
+        return scoringPool.invoke(new ScoreCandidatesTask(pipeline, found, foundTerms, query, candidates, 0,
+                candidates.size()));
+    }
+
+    private List<MatchMatrix.Entry> scoreRange(ScoringPipeline pipeline, FoundItem found, int[] foundTerms,
+            KeywordScorer.Query query, List<LostItem> candidates, int from, int to) {
+        // Shared-term buffer reused for every pair of this range
+        int[] shared = new int[foundTerms.length];
+        List<MatchMatrix.Entry> row = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            MatchMatrix.Entry entry = scorePair(pipeline, found, foundTerms, query, candidates.get(i), shared);
+            if (entry != null)
+                row.add(entry);
+        }
+        return row;
+    }
+
+    /** Splits the candidates of one found item into leaf ranges */
+    private final class ScoreCandidatesTask extends RecursiveTask<List<MatchMatrix.Entry>> {
+        private final ScoringPipeline pipeline;
+        private final FoundItem found;
+        private final int[] foundTerms;
+        private final KeywordScorer.Query query;
+        private final List<LostItem> candidates;
+        private final int from;
+        private final int to;
+
+        ScoreCandidatesTask(ScoringPipeline pipeline, FoundItem found, int[] foundTerms, KeywordScorer.Query query,
+                List<LostItem> candidates, int from, int to) {
+            this.pipeline = pipeline;
+            this.found = found;
+            this.foundTerms = foundTerms;
+            this.query = query;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<MatchMatrix.Entry> compute() {
+            if (to - from <= SCORING_LEAF_SIZE) {
+                return scoreRange(pipeline, found, foundTerms, query, candidates, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ScoreCandidatesTask left = new ScoreCandidatesTask(pipeline, found, foundTerms, query, candidates, from,
+                    mid);
+            left.fork();
+            List<MatchMatrix.Entry> right = new ScoreCandidatesTask(pipeline, found, foundTerms, query, candidates,
+                    mid, to).compute();
+            List<MatchMatrix.Entry> result = new ArrayList<>(left.join());
+            result.addAll(right);
+            return result;
+        }
+    }
+
+    /** Splits the full matrix build into per-found-item work */
+    private final class BuildRowsTask extends RecursiveAction {
+        private final ScoringPipeline pipeline;
+        private final String scoringModel;
+        private final List<FoundItem> foundItems;
+        private final int from;
+        private final int to;
+        private final Map<Long, Set<Long>> candidateIds;
+        private final Map<Long, LostItem> lostById;
+        private final ItemMatchLookup stored;
+        private final Queue<ItemMatch> refreshed;
+        private final Map<Long, List<MatchMatrix.Entry>> rows;
+
+        BuildRowsTask(ScoringPipeline pipeline, String scoringModel, List<FoundItem> foundItems, int from, int to,
+                Map<Long, Set<Long>> candidateIds, Map<Long, LostItem> lostById, ItemMatchLookup stored,
+                Queue<ItemMatch> refreshed, Map<Long, List<MatchMatrix.Entry>> rows) {
+            this.pipeline = pipeline;
+            this.scoringModel = scoringModel;
+            this.foundItems = foundItems;
+            this.from = from;
+            this.to = to;
+            this.candidateIds = candidateIds;
+            this.lostById = lostById;
+            this.stored = stored;
+            this.refreshed = refreshed;
+            this.rows = rows;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    FoundItem found = foundItems.get(from);
+                    rows.put(found.getId(), buildRow(pipeline, scoringModel, found, candidateIds.get(found.getId()),
+                            lostById, stored, refreshed));
+                }
+                return;
             }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BuildRowsTask(pipeline, scoringModel, foundItems, from, mid, candidateIds, lostById, stored,
+                            refreshed, rows),
+                    new BuildRowsTask(pipeline, scoringModel, foundItems, mid, to, candidateIds, lostById, stored,
+                            refreshed, rows));
         }
+    }
+
+    /**
+     * Score one lost/found pair. The shared term ids are computed once into
+     * {@code shared} (sized for the found item's terms) and used by both the
+     * score and the explanation. {@code query} is the configured keyword scorer
+     * prepared for the found item, and {@code pipeline} the weights captured for
+     * the whole scoring pass.
+     */
+    private MatchMatrix.Entry scorePair(ScoringPipeline pipeline, FoundItem found, int[] foundTerms,
+            KeywordScorer.Query query, LostItem lost, int[] shared) {
+        int[] lostTerms = keywordIndex.termIds(lost);
+        if (foundTerms.length == 0 || lostTerms.length == 0)
+            return null;
+        int overlap = KeywordDictionary.intersect(foundTerms, lostTerms, shared);
 
-        return Math.min(score, 100); // Cap at 100
+        // Calculate text-based score only (AI analysis done on-demand)
+        int textScore = calculateTextBasedConfidenceScore(pipeline, found, lost, overlap,
+                query.score(lostTerms, shared, overlap));
+        if (textScore <= 0)
+            return null;
+        String textReason = buildTextBasedMatchReason(found, lost, shared, overlap);
+        return new MatchMatrix.Entry(lost.getId(), textScore, textReason);
     }
 
-    private String buildTextBasedMatchReason(FoundItem found, LostItem lost, Set<String> foundKeywords) {
+    private int calculateTextBasedConfidenceScore(ScoringPipeline pipeline, FoundItem found, LostItem lost,
+            int overlap, double keywordSimilarity) {
+        if (overlap == 0)
+            return 0;
+
+        // Keyword, category, subcategory and date points as configured by the
+        // active scoring weights (capped at 100)
+        return pipeline.score(found, lost, keywordSimilarity);
+    }
+
+    private String buildTextBasedMatchReason(FoundItem found, LostItem lost, int[] shared, int overlap) {
         // Build keyword-based reasoning
-        Set<String> lostKeywords = new HashSet<>(Arrays.asList(lost.getKeywords().split(",")));
-        Set<String> intersection = new HashSet<>(foundKeywords);
-        intersection.retainAll(lostKeywords);
+        StringBuilder keywords = new StringBuilder();
+        int listed = Math.min(overlap, REASON_KEYWORDS);
+        for (int i = 0; i < listed; i++) {
+            if (i > 0)
+                keywords.append(", ");
+            keywords.append(keywordDictionary.termOf(shared[i]));
+        }
+        if (overlap > listed)
+            keywords.append(" +").append(overlap - listed).append(" more");
 
         List<String> reasons = new ArrayList<>();
-        reasons.add(intersection.size() + " matching keywords: " + String.join(", ", intersection));
+        reasons.add(overlap + " matching keywords: " + keywords);
 
         if (found.getCategory() != null && lost.getCategory() != null &&
                 found.getCategory().equalsIgnoreCase(lost.getCategory())) {
@@ -426,7 +971,9 @@ public class MatchingService {
             reasons.add("Same subcategory: " + found.getSubcategory());
         }
 
-        return String.join(" | ", reasons);
+        String reason = String.join(" | ", reasons);
+        // Long keywords or category names must still fit the column
+        return reason.length() <= REASON_LENGTH ? reason : reason.substring(0, REASON_LENGTH);
     }
     
     /**
@@ -457,6 +1004,9 @@ public class MatchingService {
             GeminiMatchingService.GeminiMatchResult aiResult = future.get(AI_TIMEOUT_SECONDS, TimeUnit.SECONDS);
             logger.info("AI analysis completed for Lost ID {} and Found ID {} with score: {}", 
                        lostId, foundId, aiResult != null ? aiResult.getConfidenceScore() : "null");
+            if (aiResult != null) {
+                storeAiResult(lost, found, aiResult);
+            }
             return aiResult;
             
         } catch (TimeoutException e) {
@@ -473,4 +1023,42 @@ public class MatchingService {
             throw new RuntimeException("AI analysis failed: " + e.getCause().getMessage());
         }
     }
+
+    /**
+     * Keep an AI analysis with the pair's match row so the dashboard can show it
+     * without calling the model again. A tentative match is created for open
+     * pairs that have none yet; if another writer (e.g. the tentative match
+     * flush) inserts the pair first, its row is updated instead.
+     */
+    private void storeAiResult(LostItem lost, FoundItem found, GeminiMatchingService.GeminiMatchResult aiResult) {
+        List<ItemMatch> matches = matchRepo.findByLostItemIdAndFoundItemId(lost.getId(), found.getId());
+        if (!matches.isEmpty()) {
+            saveAiResult(matches.get(0), aiResult);
+            return;
+        }
+        if (lost.getStatus() != LostItem.Status.OPEN || found.getStatus() != FoundItem.Status.UNCLAIMED)
+            return;
+        ItemMatch match = new ItemMatch();
+        match.setLostItemId(lost.getId());
+        match.setFoundItemId(found.getId());
+        match.setStatus(ItemMatch.Status.TENTATIVE);
+        match.setMatchedBy("system");
+        match.setMatchedAt(new Date());
+        try {
+            saveAiResult(match, aiResult);
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race on the (lost, found) unique constraint
+            matches = matchRepo.findByLostItemIdAndFoundItemId(lost.getId(), found.getId());
+            if (matches.isEmpty())
+                throw e;
+            saveAiResult(matches.get(0), aiResult);
+        }
+    }
+
+    private void saveAiResult(ItemMatch match, GeminiMatchingService.GeminiMatchResult aiResult) {
+        match.setAiScore(aiResult.getConfidenceScore());
+        match.setAiReasoning(aiResult.getReasoning());
+        match.setAiAnalyzedAt(new Date());
+        matchRepo.save(match);
+    }
 }
@@ -0,0 +1,118 @@
+package neiu.lostfound.service;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * MinHash signatures over character shingles of an item's title and
+ * description. Two signatures agree in a position with probability equal to
+ * the Jaccard similarity of the shingle sets, so near-duplicate reports can be
+ * found by comparing signatures instead of texts.
+ *
+ * The hash functions come from a fixed seed: signatures are stored with the
+ * items and must stay comparable across restarts.
+ */
+@Component
+public class MinHasher {
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final int SHINGLE_LENGTH = 4;
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final long[] multipliers = new long[NUM_HASHES];
+    private final long[] offsets = new long[NUM_HASHES];
+
+    public MinHasher() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            multipliers[i] = random.nextLong() | 1L; // odd, so the mapping is a bijection
+            offsets[i] = random.nextLong();
+        }
+    }
+
+    /** Signature of the given fields, or null if they contain no text */
+    public int[] signature(String... fields) {
+        char[] text = normalize(fields);
+        if (text.length == 0) return null;
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(text.length - SHINGLE_LENGTH + 1, 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = hashShingle(text, start, Math.min(start + SHINGLE_LENGTH, text.length));
+            for (int i = 0; i < NUM_HASHES; i++) {
+                // Top 31 bits of a multiply-add hash, kept non-negative
+                int h = (int) ((multipliers[i] * shingle + offsets[i]) >>> 33);
+                if (h < signature[i]) signature[i] = h;
+            }
+        }
+        return signature;
+    }
+
+    /** Estimated Jaccard similarity: fraction of positions where the signatures agree */
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) same++;
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    /** Hash of one LSH band of a signature */
+    public static long bandKey(int[] signature, int band) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = band * ROWS_PER_BAND, end = i + ROWS_PER_BAND; i < end; i++) {
+            h = (h ^ signature[i]) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        if (signature == null) return null;
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    /** Decode a stored signature; null if missing or written with another signature size */
+    public static int[] fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != NUM_HASHES * Integer.BYTES) return null;
+        int[] signature = new int[NUM_HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    /** Lower-case letters and digits with single spaces between words */
+    private static char[] normalize(String... fields) {
+        StringBuilder sb = new StringBuilder();
+        for (String field : fields) {
+            if (field == null) continue;
+            for (int i = 0; i < field.length(); i++) {
+                char c = Character.toLowerCase(field.charAt(i));
+                if (Character.isLetterOrDigit(c)) {
+                    sb.append(c);
+                } else if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+                    sb.append(' ');
+                }
+            }
+            if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') sb.append(' ');
+        }
+        int length = sb.length();
+        if (length > 0 && sb.charAt(length - 1) == ' ') length--;
+        char[] text = new char[length];
+        sb.getChars(0, length, text, 0);
+        return text;
+    }
+
+    /** 64-bit FNV-1a of text[from, to) */
+    private static long hashShingle(char[] text, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h = (h ^ text[i]) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,22 @@
+package neiu.lostfound.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain overlap ratio: shared keywords divided by the keyword count of the
+ * larger item. Every keyword weighs the same.
+ */
+@Component
+public class OverlapKeywordScorer implements KeywordScorer {
+
+    @Override
+    public String name() {
+        return "overlap";
+    }
+
+    @Override
+    public Query prepare(int[] queryTerms) {
+        return (docTerms, shared, overlap) ->
+                overlap == 0 ? 0.0 : (double) overlap / Math.max(queryTerms.length, docTerms.length);
+    }
+}
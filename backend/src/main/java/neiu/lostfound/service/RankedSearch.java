@@ -0,0 +1,156 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.ItemKeyword;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Keyword search over lost or found items as one SQL statement per page plus
+ * a count. Items qualify when they share a query keyword (item_keywords) or
+ * their title/description fuzzily contains the query; the status, category
+ * and subcategory filters, the ranking (most shared keywords first, then
+ * most similar) and LIMIT/OFFSET all run in the database, so only the
+ * requested page of ids is read.
+ *
+ * Fuzzy matching uses pg_trgm's word_similarity() when {@link TrigramIndex}
+ * runs in the database. Otherwise the best {@code app.search.fuzzy-max-hits}
+ * hits of the in-memory trigram index are joined in as a VALUES list, and
+ * fuzzy matches beyond those are neither returned nor counted.
+ */
+@Component
+public class RankedSearch {
+    private static final String SET_THRESHOLD =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrigramIndex trigramIndex;
+    private final int fuzzyMaxHits;
+
+    public RankedSearch(JdbcTemplate jdbcTemplate, TrigramIndex trigramIndex,
+            @Value("${app.search.fuzzy-max-hits:1000}") int fuzzyMaxHits) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trigramIndex = trigramIndex;
+        this.fuzzyMaxHits = Math.max(0, fuzzyMaxHits);
+    }
+
+    /**
+     * One page of ids of items matching the query, best first, with the total
+     * number of matches. A null status matches every status; category and
+     * subcategory are compared like {@link neiu.lostfound.repository.ItemSpecifications#inCategory}.
+     *
+     * Candidates are the UNION of the keyword hits and the fuzzy hits, so each
+     * side can use its own index (the term index, the pg_trgm GIN indexes)
+     * before the filters and the ranking are applied to the joined items.
+     */
+    @Transactional(readOnly = true)
+    public Page<Long> search(ItemKeyword.ItemType itemType, String q, Enum<?> status, String category,
+            String subcategory, Pageable pageable) {
+        boolean lost = itemType == ItemKeyword.ItemType.LOST;
+        String table = lost ? "lost_items" : "found_items";
+        String text = q.replace(',', ' ').trim().toLowerCase();
+        Set<String> terms = queryKeywords(q);
+
+        // Each list holds SQL fragments in the order they appear in the statement, with their parameters
+        List<String> ctes = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        List<String> joins = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        List<Object> sourceParams = new ArrayList<>();
+        String similarity = null;
+        List<Object> similarityParams = new ArrayList<>();
+
+        if (!terms.isEmpty()) {
+            ctes.add("k AS (SELECT ik.item_id, COUNT(*) AS overlap FROM item_keywords ik"
+                    + " JOIN keyword_terms t ON t.id = ik.term_id WHERE ik.item_type = ? AND t.term IN ("
+                    + placeholders(terms.size()) + ") GROUP BY ik.item_id)");
+            params.add(itemType.name());
+            params.addAll(terms);
+            sources.add("SELECT item_id FROM k");
+            joins.add("LEFT JOIN k ON k.item_id = i.id");
+        }
+        if (!text.isEmpty() && trigramIndex.inDatabase()) {
+            jdbcTemplate.queryForObject(SET_THRESHOLD, String.class, String.valueOf(trigramIndex.threshold()));
+            sources.add("SELECT id AS item_id FROM " + table + " WHERE ? <% lower(title) OR ? <% lower(description)");
+            sourceParams.add(text);
+            sourceParams.add(text);
+            similarity = "COALESCE(GREATEST(word_similarity(?, lower(i.title)), word_similarity(?, lower(i.description))), 0)";
+            similarityParams.add(text);
+            similarityParams.add(text);
+        } else if (!text.isEmpty() && fuzzyMaxHits > 0) {
+            Map<Long, Double> hits = lost ? trigramIndex.searchLost(text) : trigramIndex.searchFound(text);
+            int count = Math.min(hits.size(), fuzzyMaxHits);
+            if (count > 0) {
+                ctes.add("f (item_id, similarity) AS (VALUES "
+                        + String.join(", ", Collections.nCopies(count, "(CAST(? AS BIGINT), CAST(? AS DOUBLE PRECISION))"))
+                        + ")");
+                for (Map.Entry<Long, Double> hit : hits.entrySet()) {
+                    if (count-- == 0) break;
+                    params.add(hit.getKey());
+                    params.add(hit.getValue());
+                }
+                sources.add("SELECT item_id FROM f");
+                joins.add("LEFT JOIN f ON f.item_id = i.id");
+                similarity = "COALESCE(f.similarity, 0)";
+            }
+        }
+        if (sources.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+        params.addAll(sourceParams);
+
+        if (status != null) {
+            conditions.add("i.status = ?");
+            params.add(status.name());
+        }
+        // Same as ItemSpecifications.inCategory: case-insensitive, a subcategory takes precedence
+        if (subcategory != null && !subcategory.isBlank()) {
+            conditions.add("lower(i.subcategory) = ?");
+            params.add(subcategory.trim().toLowerCase());
+        } else if (category != null && !category.isBlank()) {
+            conditions.add("lower(i.category) = ?");
+            params.add(category.trim().toLowerCase());
+        }
+
+        String with = ctes.isEmpty() ? "" : "WITH " + String.join(", ", ctes) + " ";
+        String fromWhere = " FROM (" + String.join(" UNION ", sources) + ") c JOIN " + table + " i ON i.id = c.item_id "
+                + String.join(" ", joins)
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        Long total = jdbcTemplate.queryForObject(with + "SELECT COUNT(*)" + fromWhere, Long.class, params.toArray());
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(Collections.emptyList(), pageable, total == null ? 0 : total);
+        }
+
+        List<String> order = new ArrayList<>();
+        if (!terms.isEmpty()) order.add("COALESCE(k.overlap, 0) DESC");
+        if (similarity != null) order.add(similarity + " DESC");
+        order.add("i.id DESC");
+        params.addAll(similarityParams);
+        params.add(pageable.getPageSize());
+        params.add(pageable.getOffset());
+        List<Long> ids = jdbcTemplate.queryForList(with + "SELECT i.id" + fromWhere
+                + " ORDER BY " + String.join(", ", order) + " LIMIT ? OFFSET ?", Long.class, params.toArray());
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    /** Comma-separated query keywords, normalized like the stored terms */
+    private static Set<String> queryKeywords(String q) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String part : q.split(",")) {
+            String term = part.trim().toLowerCase();
+            if (!term.isEmpty()) terms.add(term);
+        }
+        return terms;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
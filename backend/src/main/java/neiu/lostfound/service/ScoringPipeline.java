@@ -0,0 +1,128 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.FoundItem;
+import neiu.lostfound.model.LostItem;
+import neiu.lostfound.model.ScoringWeights;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Text-based match scoring compiled from one version of the
+ * {@link ScoringWeights}. The weights are turned into a fixed array of
+ * stages once, so scoring a pair only runs the stages that can add points.
+ * Instances are immutable and are swapped as a whole when the weights change.
+ */
+public final class ScoringPipeline {
+    private static final int MAX_SCORE = 100;
+
+    private final int version;
+    private final ScoringWeights weights;
+    private final Stage[] stages;
+
+    private ScoringPipeline(int version, ScoringWeights weights, Stage[] stages) {
+        this.version = version;
+        this.weights = weights;
+        this.stages = stages;
+    }
+
+    /** One additive part of the score */
+    @FunctionalInterface
+    interface Stage {
+        int points(FoundItem found, LostItem lost, double keywordSimilarity);
+    }
+
+    /** Compile weights into a pipeline; throws IllegalArgumentException if they are invalid */
+    public static ScoringPipeline compile(ScoringWeights weights) {
+        if (weights.getKeywordWeight() < 0 || weights.getCategoryWeight() < 0 || weights.getSubcategoryWeight() < 0) {
+            throw new IllegalArgumentException("Scoring weights must not be negative");
+        }
+        List<Stage> stages = new ArrayList<>();
+
+        int keywordWeight = weights.getKeywordWeight();
+        if (keywordWeight > 0) {
+            stages.add((found, lost, similarity) -> (int) (similarity * keywordWeight));
+        }
+
+        int categoryWeight = weights.getCategoryWeight();
+        if (categoryWeight > 0) {
+            stages.add((found, lost, similarity) -> found.getCategory() != null && lost.getCategory() != null
+                    && found.getCategory().equalsIgnoreCase(lost.getCategory()) ? categoryWeight : 0);
+        }
+
+        int subcategoryWeight = weights.getSubcategoryWeight();
+        if (subcategoryWeight > 0) {
+            stages.add((found, lost, similarity) -> found.getSubcategory() != null && lost.getSubcategory() != null
+                    && found.getSubcategory().equalsIgnoreCase(lost.getSubcategory()) ? subcategoryWeight : 0);
+        }
+
+        int[][] steps = parseDateSteps(weights.getDateSteps());
+        if (steps.length > 0) {
+            int[] maxDays = steps[0];
+            int[] points = steps[1];
+            // Closer dates = higher score: the first step whose maxDays covers the gap applies
+            stages.add((found, lost, similarity) -> {
+                Integer foundDay = ItemDates.epochDay(found);
+                Integer lostDay = ItemDates.epochDay(lost);
+                if (foundDay == null || lostDay == null)
+                    return 0;
+                int daysDiff = Math.abs(foundDay - lostDay);
+                for (int i = 0; i < maxDays.length; i++) {
+                    if (daysDiff <= maxDays[i])
+                        return points[i];
+                }
+                return 0;
+            });
+        }
+        return new ScoringPipeline(weights.getVersion(), weights, stages.toArray(new Stage[0]));
+    }
+
+    /** Score of a pair with the given keyword similarity in [0, 1], capped at 100 */
+    public int score(FoundItem found, LostItem lost, double keywordSimilarity) {
+        int score = 0;
+        for (Stage stage : stages) {
+            score += stage.points(found, lost, keywordSimilarity);
+        }
+        return Math.min(score, MAX_SCORE);
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public ScoringWeights weights() {
+        return weights;
+    }
+
+    /**
+     * Parse "maxDays:points" pairs into {maxDays[], points[]} sorted by maxDays,
+     * or an empty array if there are none
+     */
+    static int[][] parseDateSteps(String dateSteps) {
+        if (dateSteps == null || dateSteps.isBlank())
+            return new int[0][];
+        String[] parts = dateSteps.split(",");
+        int[][] pairs = new int[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            String[] pair = parts[i].trim().split(":");
+            if (pair.length != 2)
+                throw new IllegalArgumentException("Invalid date step '" + parts[i].trim() + "', expected maxDays:points");
+            try {
+                pairs[i] = new int[] { Integer.parseInt(pair[0].trim()), Integer.parseInt(pair[1].trim()) };
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid date step '" + parts[i].trim() + "', expected maxDays:points");
+            }
+            if (pairs[i][0] < 0 || pairs[i][1] < 0)
+                throw new IllegalArgumentException("Date steps must not be negative");
+        }
+        Arrays.sort(pairs, (a, b) -> Integer.compare(a[0], b[0]));
+        int[] maxDays = new int[pairs.length];
+        int[] points = new int[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            maxDays[i] = pairs[i][0];
+            points[i] = pairs[i][1];
+        }
+        return new int[][] { maxDays, points };
+    }
+}
@@ -0,0 +1,106 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.dto.ScoringWeightsRequest;
+import neiu.lostfound.model.ScoringWeights;
+import neiu.lostfound.repository.ScoringWeightsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the active {@link ScoringPipeline}. Defaults come from the
+ * {@code app.matching.weights.*} properties; a newer version stored in the
+ * scoring_weights table overrides them. Updates are compiled first and then
+ * swapped in atomically, without a restart. Each swap clears the match
+ * matrix: it is rebuilt on the next read, and stored scores of the old
+ * version are recomputed lazily because their scoring model no longer
+ * matches.
+ */
+@Service
+public class ScoringProfileService implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(ScoringProfileService.class);
+
+    private final ScoringWeightsRepository weightsRepo;
+    private final MatchMatrix matchMatrix;
+    private final ScoringWeights defaults;
+    private final AtomicReference<ScoringPipeline> current = new AtomicReference<>();
+
+    public ScoringProfileService(ScoringWeightsRepository weightsRepo,
+            MatchMatrix matchMatrix,
+            @Value("${app.matching.weights.version:1}") int version,
+            @Value("${app.matching.weights.keyword:60}") int keywordWeight,
+            @Value("${app.matching.weights.category:20}") int categoryWeight,
+            @Value("${app.matching.weights.subcategory:10}") int subcategoryWeight,
+            @Value("${app.matching.weights.date-steps:0:10,3:7,7:5,14:3}") String dateSteps) {
+        this.weightsRepo = weightsRepo;
+        this.matchMatrix = matchMatrix;
+        this.defaults = new ScoringWeights();
+        defaults.setVersion(version);
+        defaults.setKeywordWeight(keywordWeight);
+        defaults.setCategoryWeight(categoryWeight);
+        defaults.setSubcategoryWeight(subcategoryWeight);
+        defaults.setDateSteps(dateSteps);
+        defaults.setUpdatedBy("properties");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        current.set(ScoringPipeline.compile(defaults));
+        reload();
+    }
+
+    /** The pipeline to score with; read it once per scoring pass */
+    public ScoringPipeline current() {
+        return current.get();
+    }
+
+    /** Pick up weights stored by another instance or edited in the database */
+    @Scheduled(fixedDelayString = "${app.matching.weights.reload-ms:60000}")
+    public void reload() {
+        weightsRepo.findTopByOrderByVersionDesc()
+                .filter(stored -> stored.getVersion() > current().version())
+                .ifPresent(stored -> {
+                    try {
+                        swap(ScoringPipeline.compile(stored));
+                    } catch (IllegalArgumentException e) {
+                        log.error("Ignoring invalid scoring weights version {}: {}", stored.getVersion(), e.getMessage());
+                    }
+                });
+    }
+
+    /** Store and activate new weights as the next version */
+    public synchronized ScoringWeights update(ScoringWeightsRequest req, String adminUser) {
+        ScoringWeights weights = new ScoringWeights();
+        int latest = weightsRepo.findTopByOrderByVersionDesc().map(ScoringWeights::getVersion).orElse(0);
+        weights.setVersion(Math.max(latest, current().version()) + 1);
+        weights.setKeywordWeight(req.keywordWeight);
+        weights.setCategoryWeight(req.categoryWeight);
+        weights.setSubcategoryWeight(req.subcategoryWeight);
+        weights.setDateSteps(req.dateSteps == null ? "" : req.dateSteps.trim());
+        weights.setUpdatedBy(adminUser);
+        weights.setUpdatedAt(new Date());
+        // Compile before saving so invalid weights are never stored
+        ScoringPipeline pipeline = ScoringPipeline.compile(weights);
+        ScoringWeights saved = weightsRepo.save(weights);
+        swap(pipeline);
+        return saved;
+    }
+
+    private synchronized void swap(ScoringPipeline pipeline) {
+        ScoringPipeline previous = current.get();
+        if (previous != null && pipeline.version() <= previous.version())
+            return;
+        current.set(pipeline);
+        synchronized (matchMatrix.lock()) {
+            matchMatrix.clear();
+        }
+        log.info("Scoring weights version {} active (was {})", pipeline.version(),
+                previous == null ? "none" : previous.version());
+    }
+}
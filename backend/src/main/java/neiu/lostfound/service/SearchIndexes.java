@@ -0,0 +1,79 @@
+package neiu.lostfound.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Builds the {@link TrigramIndex}, {@link KeywordIndex} and
+ * {@link DuplicateIndex} on the async executor once the application is up,
+ * so loading every item does not hold up startup. Until they are built the
+ * "searchIndexes" health indicator reports OUT_OF_SERVICE and the readiness
+ * probe holds traffic back; the match matrix waits with {@link #awaitReady}.
+ */
+@Component
+public class SearchIndexes {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexes.class);
+
+    private final TrigramIndex trigramIndex;
+    private final KeywordIndex keywordIndex;
+    private final DuplicateIndex duplicateIndex;
+    private final CountDownLatch ready = new CountDownLatch(1);
+    private volatile RuntimeException failure;
+    private volatile long buildMillis = -1;
+
+    public SearchIndexes(TrigramIndex trigramIndex, KeywordIndex keywordIndex, DuplicateIndex duplicateIndex) {
+        this.trigramIndex = trigramIndex;
+        this.keywordIndex = keywordIndex;
+        this.duplicateIndex = duplicateIndex;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        try {
+            trigramIndex.initialize();
+            keywordIndex.rebuild();
+            duplicateIndex.rebuild();
+        } catch (RuntimeException e) {
+            failure = e;
+            log.error("Building the search indexes failed: {}", e.getMessage(), e);
+        } finally {
+            buildMillis = System.currentTimeMillis() - start;
+            ready.countDown();
+        }
+        if (failure == null) {
+            log.info("Search indexes ready in {} ms ({} ms after JVM start)", buildMillis,
+                    ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+
+    /** Whether the startup build completed successfully */
+    public boolean isReady() {
+        return ready.getCount() == 0 && failure == null;
+    }
+
+    /** Why the startup build failed, or null */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    public long getBuildMillis() {
+        return buildMillis;
+    }
+
+    /** Wait until the startup build has ended; throws if it failed, since the indexes are then incomplete */
+    public void awaitReady() throws InterruptedException {
+        ready.await();
+        if (failure != null) {
+            throw new IllegalStateException("Search indexes are not available: " + failure.getMessage(), failure);
+        }
+    }
+}
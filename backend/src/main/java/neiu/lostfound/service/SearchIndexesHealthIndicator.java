@@ -0,0 +1,33 @@
+package neiu.lostfound.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports "searchIndexes" OUT_OF_SERVICE while the trigram, keyword and
+ * duplicate indexes are still being built after startup, and DOWN if that
+ * build failed, so the readiness probe (/actuator/health/readiness) only
+ * passes once search and matching see every stored item.
+ */
+@Component
+public class SearchIndexesHealthIndicator implements HealthIndicator {
+    private final SearchIndexes searchIndexes;
+
+    public SearchIndexesHealthIndicator(SearchIndexes searchIndexes) {
+        this.searchIndexes = searchIndexes;
+    }
+
+    @Override
+    public Health health() {
+        if (searchIndexes.getFailure() != null) {
+            return Health.down(searchIndexes.getFailure()).build();
+        }
+        if (!searchIndexes.isReady()) {
+            return Health.outOfService().build();
+        }
+        return Health.up()
+                .withDetail("buildMillis", searchIndexes.getBuildMillis())
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Pre-warms the spell correction cache of the {@link KeywordProcessor} with
+ * the keywords of the items already stored, in the background once the
+ * application is up, and periodically logs the cache hit rate.
+ *
+ * Keywords are read a page at a time, newest items first, and warming stops
+ * once as many words were cached as the LRU can hold.
+ */
+@Component
+public class SpellCacheWarmer {
+    private static final Logger log = LoggerFactory.getLogger(SpellCacheWarmer.class);
+    private static final int PAGE_SIZE = 1000;
+
+    private final KeywordProcessor keywordProcessor;
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final boolean prewarm;
+
+    public SpellCacheWarmer(KeywordProcessor keywordProcessor, LostItemRepository lostRepo,
+            FoundItemRepository foundRepo, @Value("${app.keywords.spell-cache-prewarm:true}") boolean prewarm) {
+        this.keywordProcessor = keywordProcessor;
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.prewarm = prewarm;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        if (!prewarm) return;
+        try {
+            keywordProcessor.awaitReady();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long start = System.currentTimeMillis();
+        int capacity = keywordProcessor.getSpellCache().capacity();
+        int warmed = warm(lostRepo::findKeywordsBefore, capacity);
+        warmed += warm(foundRepo::findKeywordsBefore, capacity - warmed);
+        log.info("Spell cache pre-warmed with {} stored keywords in {} ms", warmed,
+                System.currentTimeMillis() - start);
+    }
+
+    /** Warm with the words of (id, keywords) pages until limit words were cached; returns the number cached */
+    private int warm(BiFunction<Long, Pageable, List<Object[]>> pages, int limit) {
+        int warmed = 0;
+        long beforeId = Long.MAX_VALUE;
+        while (warmed < limit) {
+            List<Object[]> rows = pages.apply(beforeId, PageRequest.of(0, PAGE_SIZE));
+            if (rows.isEmpty()) break;
+            Set<String> words = new LinkedHashSet<>();
+            for (Object[] row : rows) {
+                addWords((String) row[1], words);
+            }
+            warmed += keywordProcessor.warmSpellCache(words, limit - warmed);
+            beforeId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        return warmed;
+    }
+
+    @Scheduled(fixedDelayString = "${app.keywords.spell-cache-log-ms:600000}",
+            initialDelayString = "${app.keywords.spell-cache-log-ms:600000}")
+    public void logStats() {
+        SpellCorrectionCache cache = keywordProcessor.getSpellCache();
+        long lookups = cache.hits() + cache.misses();
+        if (lookups == 0) return;
+        log.info("Spell cache: {} entries, {} hits, {} misses ({}% hit rate)", cache.size(), cache.hits(),
+                cache.misses(), Math.round(cache.hitRate() * 100));
+    }
+
+    /**
+     * Stored keywords also hold WordNet synonyms, some of them multi-word;
+     * only single words that tokenizing would produce are worth correcting
+     */
+    private static void addWords(String keywords, Set<String> words) {
+        for (String part : keywords.split(",")) {
+            String word = part.trim();
+            if (word.length() > 2 && word.chars().allMatch(Character::isLetterOrDigit)) {
+                words.add(word);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package neiu.lostfound.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded LRU cache of spell corrections (token -> corrected token). Tokens
+ * that need no correction are cached as well, mapped to themselves, so a
+ * correctly spelled word is only looked up once.
+ *
+ * The cache is split into segments by token hash, each an access-ordered
+ * LinkedHashMap behind its own lock, so concurrent item creations rarely
+ * contend. Corrections are computed outside the lock; two threads missing
+ * the same token may both compute it, which is harmless.
+ */
+public class SpellCorrectionCache {
+    private static final int SEGMENTS = 16;
+
+    private final int maxSize;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SpellCorrectionCache(int maxSize) {
+        this.maxSize = maxSize;
+        int perSegment = Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /** Cached correction of a token, computing and caching it on a miss */
+    public String get(String token, UnaryOperator<String> correct) {
+        Segment segment = segmentFor(token);
+        String corrected;
+        synchronized (segment) {
+            corrected = segment.get(token);
+        }
+        if (corrected != null) {
+            hits.increment();
+            return corrected;
+        }
+        misses.increment();
+        corrected = correct.apply(token);
+        synchronized (segment) {
+            segment.put(token, corrected);
+        }
+        return corrected;
+    }
+
+    /** Cache a correction unless the token is already cached; not counted as a hit or miss */
+    public boolean warm(String token, UnaryOperator<String> correct) {
+        Segment segment = segmentFor(token);
+        synchronized (segment) {
+            if (segment.containsKey(token)) return false;
+        }
+        String corrected = correct.apply(token);
+        synchronized (segment) {
+            segment.putIfAbsent(token, corrected);
+        }
+        return true;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /** Number of entries the cache holds at most */
+    public int capacity() {
+        return maxSize;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** Share of lookups answered from the cache, in [0, 1] */
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private Segment segmentFor(String token) {
+        int h = token.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    /** One LRU segment; callers synchronize on it */
+    private static final class Segment extends LinkedHashMap<String, String> {
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
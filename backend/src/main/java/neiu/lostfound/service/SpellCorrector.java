@@ -0,0 +1,13 @@
+package neiu.lostfound.service;
+
+/**
+ * Spell correction engine used by the {@link KeywordProcessor}, selected with
+ * {@code app.keywords.spell-corrector}.
+ */
+public interface SpellCorrector {
+    /** Name used to select this engine in configuration */
+    String name();
+
+    /** Best correction of a lowercase word, or the word itself if none is found */
+    String correct(String word);
+}
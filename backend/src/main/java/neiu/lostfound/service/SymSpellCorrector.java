@@ -0,0 +1,312 @@
+package neiu.lostfound.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Spell correction with a symmetric delete index (SymSpell). Every dictionary
+ * word is indexed under all strings obtained by deleting up to
+ * {@link #MAX_DISTANCE} characters from its prefix; a lookup generates the
+ * same deletes of the input and only verifies the words stored under them.
+ * The work per lookup depends on the word length, not the dictionary size.
+ *
+ * Deletes are kept as their String hash, so the index is a few int arrays:
+ * an open addressing table from delete hash to a range of word ids. Hash
+ * collisions only add candidates, which the edit distance check drops. The
+ * arrays are written to a file next to the application the first time and
+ * loaded from it on later starts as long as the dictionary is unchanged.
+ */
+public class SymSpellCorrector implements SpellCorrector {
+    public static final String NAME = "symspell";
+
+    private static final Logger log = LoggerFactory.getLogger(SymSpellCorrector.class);
+    private static final int MAGIC = 0x53594D31; // "SYM1"
+    private static final int MAX_DISTANCE = 2;
+    private static final int PREFIX_LENGTH = 7;
+    private static final int EMPTY = -1;
+
+    // Words in dictionary order; a word's id is its position
+    private final String[] words;
+    // Open addressing table: slot -> delete hash / group id (EMPTY if unused)
+    private final int[] slotHash;
+    private final int[] slotGroup;
+    // Word ids of group g are postings[groupStart[g] .. groupStart[g + 1])
+    private final int[] groupStart;
+    private final int[] postings;
+
+    private SymSpellCorrector(String[] words, int[] slotHash, int[] slotGroup, int[] groupStart, int[] postings) {
+        this.words = words;
+        this.slotHash = slotHash;
+        this.slotGroup = slotGroup;
+        this.groupStart = groupStart;
+        this.postings = postings;
+    }
+
+    /**
+     * Load the index from {@code indexFile}, or build it from the dictionary
+     * and write it there if the file is missing or was built from a different
+     * dictionary
+     */
+    public static SymSpellCorrector load(Resource dictionary, Path indexFile) throws IOException {
+        byte[] dictionaryBytes;
+        try (InputStream in = dictionary.getInputStream()) {
+            dictionaryBytes = in.readAllBytes();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(dictionaryBytes);
+        long checksum = crc.getValue();
+
+        if (Files.exists(indexFile)) {
+            try {
+                SymSpellCorrector loaded = read(Files.readAllBytes(indexFile), checksum);
+                if (loaded != null) return loaded;
+                log.info("SymSpell index {} is out of date, rebuilding", indexFile);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not read SymSpell index {}, rebuilding: {}", indexFile, e.getMessage());
+            }
+        }
+        long start = System.currentTimeMillis();
+        SymSpellCorrector built = build(readWords(dictionaryBytes));
+        log.info("Built SymSpell index of {} words in {} ms", built.words.length, System.currentTimeMillis() - start);
+        try {
+            built.write(indexFile, checksum);
+        } catch (IOException e) {
+            log.warn("Could not write SymSpell index {}: {}", indexFile, e.getMessage());
+        }
+        return built;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String correct(String word) {
+        if (word.isEmpty()) return word;
+        String best = null;
+        int bestDistance = MAX_DISTANCE + 1;
+        int bestId = Integer.MAX_VALUE;
+        Set<Integer> checked = new HashSet<>();
+        for (String delete : deletes(word)) {
+            int group = group(delete.hashCode());
+            if (group == EMPTY) continue;
+            for (int p = groupStart[group]; p < groupStart[group + 1]; p++) {
+                int id = postings[p];
+                if (!checked.add(id)) continue;
+                String candidate = words[id];
+                if (Math.abs(candidate.length() - word.length()) > MAX_DISTANCE) continue;
+                int distance = distance(word, candidate, Math.min(bestDistance, MAX_DISTANCE));
+                // Closest word wins; ties go to the word listed first in the dictionary
+                if (distance < bestDistance || (distance == bestDistance && id < bestId)) {
+                    best = candidate;
+                    bestDistance = distance;
+                    bestId = id;
+                }
+            }
+            if (bestDistance == 0) break;
+        }
+        return best == null ? word : best;
+    }
+
+    /** Id group stored under a delete hash, or EMPTY */
+    private int group(int hash) {
+        int mask = slotHash.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int group = slotGroup[slot];
+            if (group == EMPTY || slotHash[slot] == hash) return group;
+        }
+    }
+
+    private static SymSpellCorrector build(String[] words) {
+        // (delete hash, word id) pairs, sorted so each hash forms one group
+        long[] pairs = new long[words.length * 8];
+        int n = 0;
+        for (int id = 0; id < words.length; id++) {
+            for (String delete : deletes(words[id])) {
+                if (n == pairs.length) pairs = Arrays.copyOf(pairs, n * 2);
+                pairs[n++] = ((long) delete.hashCode() << 32) | id;
+            }
+        }
+        Arrays.sort(pairs, 0, n);
+
+        int[] postings = new int[n];
+        int[] groupHash = new int[n];
+        int[] groupStart = new int[n + 1];
+        int groups = 0;
+        for (int i = 0; i < n; i++) {
+            int hash = (int) (pairs[i] >> 32);
+            if (i == 0 || hash != groupHash[groups - 1]) {
+                groupHash[groups] = hash;
+                groupStart[groups] = i;
+                groups++;
+            }
+            postings[i] = (int) pairs[i];
+        }
+        groupStart[groups] = n;
+
+        int capacity = Integer.highestOneBit(Math.max(2, groups * 2 - 1)) << 1;
+        int[] slotHash = new int[capacity];
+        int[] slotGroup = new int[capacity];
+        Arrays.fill(slotGroup, EMPTY);
+        for (int g = 0; g < groups; g++) {
+            int slot = mix(groupHash[g]) & (capacity - 1);
+            while (slotGroup[slot] != EMPTY) slot = (slot + 1) & (capacity - 1);
+            slotHash[slot] = groupHash[g];
+            slotGroup[slot] = g;
+        }
+        return new SymSpellCorrector(words, slotHash, slotGroup, Arrays.copyOf(groupStart, groups + 1), postings);
+    }
+
+    /** Lowercase words of a Jazzy word list (one per line), without duplicates */
+    private static String[] readWords(byte[] dictionaryBytes) throws IOException {
+        Set<String> words = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(dictionaryBytes), StandardCharsets.ISO_8859_1))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (!word.isEmpty() && word.chars().allMatch(Character::isLetter)) words.add(word);
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    /** The word's prefix and every string obtained by deleting up to MAX_DISTANCE characters from it */
+    private static Set<String> deletes(String word) {
+        String prefix = word.length() > PREFIX_LENGTH ? word.substring(0, PREFIX_LENGTH) : word;
+        Set<String> result = new HashSet<>();
+        result.add(prefix);
+        List<String> current = List.of(prefix);
+        for (int d = 0; d < MAX_DISTANCE; d++) {
+            List<String> next = new ArrayList<>();
+            for (String s : current) {
+                for (int i = 0; i < s.length(); i++) {
+                    String delete = s.substring(0, i) + s.substring(i + 1);
+                    if (result.add(delete)) next.add(delete);
+                }
+            }
+            current = next;
+        }
+        return result;
+    }
+
+    /**
+     * Optimal string alignment distance (edits plus adjacent transpositions),
+     * or max + 1 once it is known to exceed max
+     */
+    static int distance(String a, String b, int max) {
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        int prevMin = 0;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prevPrev[j - 2] + 1);
+                }
+                cur[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            // Later rows can only come from this row or a transposition out of the previous one
+            if (Math.min(rowMin, prevMin + 1) > max) return max + 1;
+            prevMin = rowMin;
+            int[] t = prevPrev;
+            prevPrev = prev;
+            prev = cur;
+            cur = t;
+        }
+        return Math.min(prev[b.length()], max + 1);
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Index file: header, words as one ISO-8859-1 byte block with offsets, then the int arrays
+
+    private void write(Path indexFile, long checksum) throws IOException {
+        byte[][] encoded = new byte[words.length][];
+        int[] wordOffsets = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            encoded[i] = words[i].getBytes(StandardCharsets.ISO_8859_1);
+            wordOffsets[i + 1] = wordOffsets[i] + encoded[i].length;
+        }
+        int wordBytes = wordOffsets[words.length];
+        long size = 4 + 8 + 4 + 4 + 4L * wordOffsets.length + 4 + wordBytes
+                + 4 + 8L * slotHash.length + 4 + 4L * groupStart.length + 4 + 4L * postings.length;
+        ByteBuffer buf = ByteBuffer.allocate(Math.toIntExact(size));
+        buf.putInt(MAGIC).putLong(checksum).putInt(PREFIX_LENGTH).putInt(words.length);
+        putInts(buf, wordOffsets);
+        buf.putInt(wordBytes);
+        for (byte[] word : encoded) buf.put(word);
+        buf.putInt(slotHash.length);
+        putInts(buf, slotHash);
+        putInts(buf, slotGroup);
+        buf.putInt(groupStart.length);
+        putInts(buf, groupStart);
+        buf.putInt(postings.length);
+        putInts(buf, postings);
+
+        Path dir = indexFile.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, indexFile.getFileName().toString(), ".tmp");
+        Files.write(tmp, buf.array());
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Index read from file contents, or null if it was built differently */
+    private static SymSpellCorrector read(byte[] bytes, long checksum) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        if (buf.getInt() != MAGIC || buf.getLong() != checksum || buf.getInt() != PREFIX_LENGTH)
+            return null;
+        int wordCount = buf.getInt();
+        int[] wordOffsets = getInts(buf, wordCount + 1);
+        int wordBytes = buf.getInt();
+        int base = buf.position();
+        String[] words = new String[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            words[i] = new String(bytes, base + wordOffsets[i], wordOffsets[i + 1] - wordOffsets[i],
+                    StandardCharsets.ISO_8859_1);
+        }
+        buf.position(base + wordBytes);
+        int capacity = buf.getInt();
+        int[] slotHash = getInts(buf, capacity);
+        int[] slotGroup = getInts(buf, capacity);
+        int[] groupStart = getInts(buf, buf.getInt());
+        int[] postings = getInts(buf, buf.getInt());
+        return new SymSpellCorrector(words, slotHash, slotGroup, groupStart, postings);
+    }
+
+    private static void putInts(ByteBuffer buf, int[] values) {
+        buf.asIntBuffer().put(values);
+        buf.position(buf.position() + 4 * values.length);
+    }
+
+    private static int[] getInts(ByteBuffer buf, int count) {
+        int[] values = new int[count];
+        buf.asIntBuffer().get(values);
+        buf.position(buf.position() + 4 * count);
+        return values;
+    }
+}
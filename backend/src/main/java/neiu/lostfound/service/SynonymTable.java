@@ -0,0 +1,243 @@
+package neiu.lostfound.service;
+
+import net.sf.extjwnl.JWNLException;
+import net.sf.extjwnl.data.Exc;
+import net.sf.extjwnl.data.IndexWord;
+import net.sf.extjwnl.data.POS;
+import net.sf.extjwnl.data.Synset;
+import net.sf.extjwnl.data.Word;
+import net.sf.extjwnl.dictionary.Dictionary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * WordNet noun synonyms flattened into one binary file that is memory-mapped
+ * at runtime, so expanding a keyword is a hash probe and a few offset reads
+ * and WordNet itself is only loaded to build the file.
+ *
+ * File layout (big-endian ints): a header with the section positions, an
+ * open addressing table of (key string id, list id) slots, list offsets into
+ * the list items (string ids), string offsets into the UTF-8 string bytes.
+ * Keys are noun lemmas plus their irregular forms from WordNet's exception
+ * list (e.g. "mice" -> the list of "mouse"); regular plurals are reduced at
+ * lookup with WordNet's noun suffix rules.
+ */
+public final class SynonymTable {
+    private static final int MAGIC = 0x574E5331; // "WNS1"
+    private static final int HEADER_BYTES = 36;
+    private static final int EMPTY = -1;
+    // WordNet's noun detachment rules: suffix -> replacement
+    private static final String[][] NOUN_SUFFIXES = {
+            { "s", "" }, { "ses", "s" }, { "xes", "x" }, { "zes", "z" },
+            { "ches", "ch" }, { "shes", "sh" }, { "men", "man" }, { "ies", "y" } };
+
+    private final ByteBuffer buf;
+    private final int capacity;
+    private final int listStartPos;
+    private final int listItemsPos;
+    private final int stringOffsetsPos;
+    private final int stringBytesPos;
+
+    private SynonymTable(ByteBuffer buf) {
+        if (buf.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("Not a synonym table");
+        this.buf = buf;
+        this.capacity = buf.getInt(4);
+        this.listStartPos = buf.getInt(16);
+        this.listItemsPos = buf.getInt(20);
+        this.stringOffsetsPos = buf.getInt(24);
+        this.stringBytesPos = buf.getInt(28);
+    }
+
+    /** Map a table file written by {@link #build} */
+    public static SynonymTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SynonymTable(mapped);
+        }
+    }
+
+    /** Synonyms of a noun (including the word itself), or an empty set if WordNet has none */
+    public Set<String> synonyms(String word) {
+        int list = find(word);
+        if (list == EMPTY) {
+            for (String[] rule : NOUN_SUFFIXES) {
+                if (word.length() > rule[0].length() && word.endsWith(rule[0])) {
+                    list = find(word.substring(0, word.length() - rule[0].length()) + rule[1]);
+                    if (list != EMPTY) break;
+                }
+            }
+        }
+        if (list == EMPTY) return new HashSet<>();
+        int start = buf.getInt(listStartPos + 4 * list);
+        int end = buf.getInt(listStartPos + 4 * (list + 1));
+        Set<String> result = new HashSet<>(2 * (end - start));
+        for (int i = start; i < end; i++) {
+            result.add(string(buf.getInt(listItemsPos + 4 * i)));
+        }
+        return result;
+    }
+
+    /** List id of a key, or EMPTY */
+    private int find(String word) {
+        byte[] key = word.getBytes(StandardCharsets.UTF_8);
+        int mask = capacity - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int keyString = buf.getInt(HEADER_BYTES + 8 * slot);
+            if (keyString == EMPTY) return EMPTY;
+            if (stringEquals(keyString, key)) return buf.getInt(HEADER_BYTES + 8 * slot + 4);
+        }
+    }
+
+    private boolean stringEquals(int id, byte[] key) {
+        int start = buf.getInt(stringOffsetsPos + 4 * id);
+        int end = buf.getInt(stringOffsetsPos + 4 * (id + 1));
+        if (end - start != key.length) return false;
+        for (int i = 0; i < key.length; i++) {
+            if (buf.get(stringBytesPos + start + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    private String string(int id) {
+        int start = buf.getInt(stringOffsetsPos + 4 * id);
+        int end = buf.getInt(stringOffsetsPos + 4 * (id + 1));
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buf.get(stringBytesPos + start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** FNV-1a over the key bytes */
+    private static int hash(byte[] key) {
+        int h = 0x811C9DC5;
+        for (byte b : key) {
+            h = (h ^ (b & 0xFF)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /** Flatten the noun synonyms of a WordNet dictionary into a table file */
+    public static void build(Dictionary wordNet, Path file) throws IOException, JWNLException {
+        // Lemma -> synonyms, as collected by walking every sense of the noun
+        Map<String, Set<String>> synonymsByLemma = new LinkedHashMap<>();
+        Iterator<IndexWord> indexWords = wordNet.getIndexWordIterator(POS.NOUN);
+        while (indexWords.hasNext()) {
+            IndexWord indexWord = indexWords.next();
+            String lemma = indexWord.getLemma();
+            // Keywords are single tokens, so multi-word lemmas are never looked up
+            if (lemma == null || lemma.indexOf(' ') >= 0) continue;
+            Set<String> synonyms = new LinkedHashSet<>();
+            for (Synset synset : indexWord.getSenses()) {
+                for (Word w : synset.getWords()) {
+                    synonyms.add(w.getLemma().replace('_', ' '));
+                }
+            }
+            synonymsByLemma.put(lemma, synonyms);
+        }
+
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Map<List<Integer>, Integer> listIds = new HashMap<>();
+        List<List<Integer>> lists = new ArrayList<>();
+        Map<String, Integer> keys = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> e : synonymsByLemma.entrySet()) {
+            List<Integer> items = new ArrayList<>(e.getValue().size());
+            for (String synonym : e.getValue()) {
+                items.add(intern(synonym, stringIds, strings));
+            }
+            Integer list = listIds.get(items);
+            if (list == null) {
+                list = lists.size();
+                lists.add(items);
+                listIds.put(items, list);
+            }
+            keys.put(e.getKey(), list);
+        }
+        // Irregular forms share the list of their base form
+        Iterator<Exc> exceptions = wordNet.getExceptionIterator(POS.NOUN);
+        while (exceptions.hasNext()) {
+            Exc exc = exceptions.next();
+            if (exc.getLemma() == null || keys.containsKey(exc.getLemma())) continue;
+            for (String base : exc.getExceptions()) {
+                Integer list = keys.get(base);
+                if (list != null) {
+                    keys.put(exc.getLemma(), list);
+                    break;
+                }
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(2, keys.size() * 2 - 1)) << 1;
+        int[] slotKey = new int[capacity];
+        int[] slotList = new int[capacity];
+        Arrays.fill(slotKey, EMPTY);
+        for (Map.Entry<String, Integer> e : keys.entrySet()) {
+            int keyString = intern(e.getKey(), stringIds, strings);
+            int slot = hash(e.getKey().getBytes(StandardCharsets.UTF_8)) & (capacity - 1);
+            while (slotKey[slot] != EMPTY) slot = (slot + 1) & (capacity - 1);
+            slotKey[slot] = keyString;
+            slotList[slot] = e.getValue();
+        }
+
+        int itemCount = 0;
+        for (List<Integer> items : lists) itemCount += items.size();
+        byte[][] encoded = new byte[strings.size()][];
+        int stringBytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += encoded[i].length;
+        }
+        int listStartPos = HEADER_BYTES + 8 * capacity;
+        int listItemsPos = listStartPos + 4 * (lists.size() + 1);
+        int stringOffsetsPos = listItemsPos + 4 * itemCount;
+        int stringBytesPos = stringOffsetsPos + 4 * (strings.size() + 1);
+
+        ByteBuffer out = ByteBuffer.allocate(stringBytesPos + stringBytes);
+        out.putInt(MAGIC).putInt(capacity).putInt(lists.size()).putInt(strings.size())
+                .putInt(listStartPos).putInt(listItemsPos).putInt(stringOffsetsPos).putInt(stringBytesPos)
+                .putInt(keys.size());
+        for (int slot = 0; slot < capacity; slot++) {
+            out.putInt(slotKey[slot]).putInt(slotList[slot]);
+        }
+        int offset = 0;
+        for (List<Integer> items : lists) {
+            out.putInt(offset);
+            offset += items.size();
+        }
+        out.putInt(offset);
+        for (List<Integer> items : lists) {
+            for (int item : items) out.putInt(item);
+        }
+        offset = 0;
+        for (byte[] s : encoded) {
+            out.putInt(offset);
+            offset += s.length;
+        }
+        out.putInt(offset);
+        for (byte[] s : encoded) out.put(s);
+
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        Files.write(tmp, out.array());
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int intern(String s, Map<String, Integer> ids, List<String> strings) {
+        return ids.computeIfAbsent(s, k -> {
+            strings.add(k);
+            return strings.size() - 1;
+        });
+    }
+}
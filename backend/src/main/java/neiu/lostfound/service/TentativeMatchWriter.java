@@ -0,0 +1,122 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.model.ItemMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Write-behind buffer for system-created TENTATIVE matches. Read paths such as
+ * {@link MatchingService#findMatchesForFound} only enqueue the pairs they
+ * discover; pairs are deduplicated in memory and flushed periodically as one
+ * JDBC batch upsert that skips pairs already stored (ON CONFLICT DO NOTHING on
+ * Postgres, MERGE on H2), so GET requests never write and concurrent readers
+ * can not create duplicate rows. The upsert also skips pairs whose lost item
+ * is no longer OPEN or whose found item is no longer UNCLAIMED, so a flush
+ * racing a confirmation can not bring back a tentative match it deleted.
+ */
+@Component
+public class TentativeMatchWriter implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(TentativeMatchWriter.class);
+    private static final int BATCH_SIZE = 500;
+
+    private static final String COLUMNS =
+            "lost_item_id, found_item_id, status, matched_by, matched_at, text_score, text_reason, scoring_model, computed_at";
+    // The pair's row, produced only while the lost item is OPEN and the found item UNCLAIMED
+    private static final String SOURCE =
+            "SELECT l.id AS lost_item_id, f.id AS found_item_id, CAST(? AS VARCHAR(10)) AS status, "
+            + "CAST(? AS VARCHAR(100)) AS matched_by, CAST(? AS TIMESTAMP) AS matched_at, "
+            + "CAST(? AS INTEGER) AS text_score, CAST(? AS VARCHAR(1000)) AS text_reason, "
+            + "CAST(? AS VARCHAR(50)) AS scoring_model, CAST(? AS TIMESTAMP) AS computed_at "
+            + "FROM lost_items l, found_items f "
+            + "WHERE l.id = ? AND l.status = 'OPEN' AND f.id = ? AND f.status = 'UNCLAIMED'";
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO item_matches (" + COLUMNS + ") " + SOURCE + " "
+            + "ON CONFLICT (lost_item_id, found_item_id) DO NOTHING";
+    private static final String H2_UPSERT =
+            "MERGE INTO item_matches t USING (" + SOURCE + ") s "
+            + "ON t.lost_item_id = s.lost_item_id AND t.found_item_id = s.found_item_id "
+            + "WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s.lost_item_id, s.found_item_id, s.status, "
+            + "s.matched_by, s.matched_at, s.text_score, s.text_reason, s.scoring_model, s.computed_at)";
+    private static final String UPDATE_TEXT_SCORE =
+            "UPDATE item_matches SET text_score = ?, text_reason = ?, scoring_model = ?, computed_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String upsertSql;
+    // (lost id, found id) -> pending tentative match, guarded by this
+    private Map<List<Long>, ItemMatch> pending = new LinkedHashMap<>();
+
+    public TentativeMatchWriter(JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.upsertSql = datasourceUrl.startsWith("jdbc:h2:") ? H2_UPSERT : POSTGRES_UPSERT;
+    }
+
+    /** Queue a tentative match; a pair already queued is kept as is */
+    public synchronized void enqueue(ItemMatch match) {
+        pending.putIfAbsent(List.of(match.getLostItemId(), match.getFoundItemId()), match);
+    }
+
+    /**
+     * Drop queued pairs involving either item, e.g. once they were matched to
+     * each other, so a later flush does not bring their tentative matches back
+     */
+    public synchronized void discard(Long lostId, Long foundId) {
+        pending.keySet().removeIf(pair -> pair.get(0).equals(lostId) || pair.get(1).equals(foundId));
+    }
+
+    /** Write every queued pair that is not stored yet and whose items are still open */
+    @Scheduled(fixedDelayString = "${app.matching.tentative-flush-ms:2000}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+        List<ItemMatch> batch = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        try {
+            jdbcTemplate.batchUpdate(upsertSql, batch, BATCH_SIZE, (ps, m) -> {
+                ps.setString(1, m.getStatus().name());
+                ps.setString(2, m.getMatchedBy());
+                ps.setTimestamp(3, m.getMatchedAt() == null ? null : new Timestamp(m.getMatchedAt().getTime()));
+                if (m.getTextScore() != null) ps.setInt(4, m.getTextScore());
+                else ps.setNull(4, Types.INTEGER);
+                ps.setString(5, m.getTextReason());
+                ps.setString(6, m.getScoringModel());
+                ps.setTimestamp(7, m.getComputedAt() == null ? null : new Timestamp(m.getComputedAt().getTime()));
+                ps.setLong(8, m.getLostItemId());
+                ps.setLong(9, m.getFoundItemId());
+            });
+            log.debug("Flushed {} tentative matches", batch.size());
+        } catch (RuntimeException e) {
+            // Tentative matches are recreated by the next read of the same items
+            log.error("Failed to flush {} tentative matches: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Write recomputed text scores onto stored match rows right away. Only the
+     * text score columns are set, so a status change or AI analysis stored
+     * meanwhile is kept.
+     */
+    public void updateTextScores(Collection<ItemMatch> matches) {
+        if (matches.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPDATE_TEXT_SCORE, matches, BATCH_SIZE, (ps, m) -> {
+            ps.setInt(1, m.getTextScore());
+            ps.setString(2, m.getTextReason());
+            ps.setString(3, m.getScoringModel());
+            ps.setTimestamp(4, new Timestamp(m.getComputedAt().getTime()));
+            ps.setLong(5, m.getId());
+        });
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+}
@@ -0,0 +1,47 @@
+package neiu.lostfound.service;
+
+import java.util.*;
+
+/**
+ * Bounded min-heap that keeps only the best {@code k} elements seen while
+ * streaming over candidates, so callers never materialize or sort the full
+ * candidate list.
+ */
+public class TopK<T> {
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * @param k     maximum number of elements kept
+     * @param order ascending order, the greatest elements are kept
+     */
+    public TopK(int k, Comparator<? super T> order) {
+        if (k <= 0) throw new IllegalArgumentException("k must be positive");
+        this.k = k;
+        this.order = order;
+        // Heap head is the weakest element kept so far
+        this.heap = new PriorityQueue<>(Math.min(k, 64) + 1, order);
+    }
+
+    /** Offer a candidate; returns false if it was not good enough to be kept */
+    public boolean offer(T candidate) {
+        if (heap.size() < k) {
+            heap.add(candidate);
+            return true;
+        }
+        if (order.compare(candidate, heap.peek()) <= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(candidate);
+        return true;
+    }
+
+    /** Kept elements, best first */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(heap);
+        result.sort(order.reversed());
+        return result;
+    }
+}
@@ -0,0 +1,392 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.repository.FoundItemRepository;
+import neiu.lostfound.repository.LostItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the title and description of lost and found
+ * items, for typo tolerant search. Text is split into words the way pg_trgm
+ * does it (runs of letters and digits, lowercased, padded with two spaces in
+ * front and one behind), so "walet" still shares 5 of its 6 trigrams with
+ * "wallet".
+ *
+ * An item matches when it contains at least {@code app.search.trigram-threshold}
+ * of the query's trigrams; hits are ranked by that fraction, then by overall
+ * trigram similarity so shorter, closer texts come first. Query trigrams are
+ * looked up rarest first and only the rarest ones can add candidates, which
+ * keeps common trigrams from turning a lookup into a scan.
+ *
+ * Items of every status are indexed since search can filter on any status.
+ * Postings are sorted arrays of primitive ids, so the index costs about
+ * eight bytes per (item, trigram) pair. A rebuild loads fresh postings off to
+ * the side and swaps them in, so searches keep using the old ones until then.
+ *
+ * On PostgreSQL the pg_trgm GIN indexes of db/trigram_indexes.sql are created
+ * after startup when the extension is available. {@link RankedSearch} then
+ * matches with word_similarity() in the database (the {@code <%} operator,
+ * served by those indexes) and the in-memory postings are neither built nor
+ * kept.
+ */
+@Component
+public class TrigramIndex {
+    private static final Logger log = LoggerFactory.getLogger(TrigramIndex.class);
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private static final String[] POSTGRES_INDEXES = {
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_lost_items_title_trgm ON lost_items USING gin (lower(title) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_lost_items_description_trgm ON lost_items USING gin (lower(description) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_found_items_title_trgm ON found_items USING gin (lower(title) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_found_items_description_trgm ON found_items USING gin (lower(description) gin_trgm_ops)",
+    };
+
+    private final LostItemRepository lostRepo;
+    private final FoundItemRepository foundRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final boolean usePostgresIndexes;
+    private final double threshold;
+    // Set once the pg_trgm indexes exist; searches then run in the database
+    private volatile boolean inDatabase;
+    private volatile Postings lostPostings = new Postings();
+    private volatile Postings foundPostings = new Postings();
+    // Postings being loaded by a rebuild, which receive every change too until they are swapped in
+    private volatile Postings nextLostPostings;
+    private volatile Postings nextFoundPostings;
+
+    public TrigramIndex(LostItemRepository lostRepo, FoundItemRepository foundRepo, JdbcTemplate jdbcTemplate,
+            @Value("${spring.datasource.url:}") String datasourceUrl,
+            @Value("${app.search.trigram-pg-indexes:true}") boolean usePostgresIndexes,
+            @Value("${app.search.trigram-threshold:0.5}") double threshold) {
+        this.lostRepo = lostRepo;
+        this.foundRepo = foundRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = datasourceUrl.startsWith("jdbc:postgresql:");
+        this.usePostgresIndexes = usePostgresIndexes;
+        this.threshold = Math.min(1, Math.max(0, threshold));
+    }
+
+    /**
+     * Create the pg_trgm indexes on PostgreSQL, or else build the in-memory
+     * postings; run once after startup by {@link SearchIndexes}
+     */
+    public void initialize() {
+        if (postgres && usePostgresIndexes && createPostgresIndexes()) {
+            inDatabase = true;
+            log.info("Trigram search runs on the pg_trgm indexes");
+            return;
+        }
+        rebuild();
+    }
+
+    /** True when searches are answered by pg_trgm rather than the in-memory postings */
+    public boolean inDatabase() {
+        return inDatabase;
+    }
+
+    /** Share of the query's trigrams an item must contain to match */
+    public double threshold() {
+        return threshold;
+    }
+
+    /**
+     * Reload both sides of the in-memory index from the database, reading
+     * only ids, titles and descriptions, into new postings that replace the
+     * current ones once complete. Does nothing while searches run on pg_trgm.
+     */
+    public synchronized void rebuild() {
+        if (inDatabase) return;
+        long start = System.currentTimeMillis();
+        Postings lost = new Postings();
+        Postings found = new Postings();
+        nextLostPostings = lost;
+        nextFoundPostings = found;
+        try {
+            int lostCount = load(lost, lostRepo::findKeywordSourcesAfter);
+            int foundCount = load(found, foundRepo::findKeywordSourcesAfter);
+            lostPostings = lost;
+            foundPostings = found;
+            log.info("Trigram index built: {} lost items, {} found items in {} ms", lostCount, foundCount,
+                    System.currentTimeMillis() - start);
+        } finally {
+            nextLostPostings = null;
+            nextFoundPostings = null;
+        }
+    }
+
+    /** Index (id, title, description, ...) pages; returns the number of items */
+    private static int load(Postings postings, BiFunction<Long, Pageable, List<Object[]>> pages) {
+        int count = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = pages.apply(afterId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            if (rows.isEmpty()) break;
+            for (Object[] row : rows) {
+                postings.put((Long) row[0], trigrams((String) row[1], (String) row[2]));
+            }
+            count += rows.size();
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        return count;
+    }
+
+    /** Add or replace a lost item after it was saved */
+    public void indexLost(Long lostId, String title, String description) {
+        if (lostId == null || inDatabase) return;
+        long[] trigrams = trigrams(title, description);
+        lostPostings.put(lostId, trigrams);
+        Postings next = nextLostPostings;
+        if (next != null) next.put(lostId, trigrams);
+    }
+
+    /** Add or replace a found item after it was saved */
+    public void indexFound(Long foundId, String title, String description) {
+        if (foundId == null || inDatabase) return;
+        long[] trigrams = trigrams(title, description);
+        foundPostings.put(foundId, trigrams);
+        Postings next = nextFoundPostings;
+        if (next != null) next.put(foundId, trigrams);
+    }
+
+    public void removeLost(Long lostId) {
+        if (inDatabase) return;
+        lostPostings.remove(lostId);
+        Postings next = nextLostPostings;
+        if (next != null) next.remove(lostId);
+    }
+
+    public void removeFound(Long foundId) {
+        if (inDatabase) return;
+        foundPostings.remove(foundId);
+        Postings next = nextFoundPostings;
+        if (next != null) next.remove(foundId);
+    }
+
+    /**
+     * Lost items whose title or description fuzzily contains the query,
+     * mapped to their similarity, best first; empty while searches run on pg_trgm
+     */
+    public LinkedHashMap<Long, Double> searchLost(String query) {
+        return lostPostings.search(trigrams(query), threshold);
+    }
+
+    /**
+     * Found items whose title or description fuzzily contains the query,
+     * mapped to their similarity, best first; empty while searches run on pg_trgm
+     */
+    public LinkedHashMap<Long, Double> searchFound(String query) {
+        return foundPostings.search(trigrams(query), threshold);
+    }
+
+    /** Create pg_trgm and its indexes; false if that is not possible, e.g. no permission for the extension */
+    private boolean createPostgresIndexes() {
+        for (String sql : POSTGRES_INDEXES) {
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (DataAccessException e) {
+                log.warn("pg_trgm indexes not created ({}); trigram search runs in memory",
+                        e.getMostSpecificCause().getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Sorted distinct trigrams of the words in the texts, each packed into a long */
+    static long[] trigrams(String... texts) {
+        Set<Long> result = new HashSet<>();
+        for (String text : texts) {
+            if (text == null) continue;
+            int n = text.length();
+            // The two characters before the current one; a word starts after "  "
+            char a = ' ', b = ' ';
+            boolean inWord = false;
+            for (int i = 0; i <= n; i++) {
+                char c = i < n ? Character.toLowerCase(text.charAt(i)) : ' ';
+                if (Character.isLetterOrDigit(c)) {
+                    if (!inWord) {
+                        a = ' ';
+                        b = ' ';
+                        inWord = true;
+                    }
+                    result.add(pack(a, b, c));
+                    a = b;
+                    b = c;
+                } else if (inWord) {
+                    result.add(pack(a, b, ' '));
+                    inWord = false;
+                }
+            }
+        }
+        long[] sorted = new long[result.size()];
+        int i = 0;
+        for (long trigram : result) sorted[i++] = trigram;
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    /** One side (lost or found) of the index */
+    private static final class Postings {
+        // trigram -> item ids, and item id -> its sorted trigrams
+        private final Map<Long, IdList> postings = new HashMap<>();
+        private final Map<Long, long[]> entries = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        void put(Long id, long[] trigrams) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+                if (trigrams.length == 0) return;
+                for (long trigram : trigrams) {
+                    postings.computeIfAbsent(trigram, t -> new IdList()).add(id);
+                }
+                entries.put(id, trigrams);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Items containing at least {@code threshold} of the query trigrams.
+         * An item missing more than {@code query.length - required} of them
+         * can not match, so only the postings of the rarest
+         * {@code query.length - required + 1} trigrams are scanned for
+         * candidates; the remaining trigrams are checked per candidate.
+         */
+        LinkedHashMap<Long, Double> search(long[] query, double threshold) {
+            LinkedHashMap<Long, Double> ranked = new LinkedHashMap<>();
+            if (query.length == 0) return ranked;
+            int required = Math.max(1, (int) Math.ceil(threshold * query.length));
+            List<Hit> hits = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                List<IdList> lists = new ArrayList<>(query.length);
+                for (long trigram : query) {
+                    IdList posting = postings.get(trigram);
+                    if (posting != null) lists.add(posting);
+                }
+                if (lists.size() < required) return ranked;
+                lists.sort(Comparator.comparingInt(IdList::size));
+
+                Map<Long, int[]> shared = new HashMap<>();
+                int prefix = lists.size() - required + 1;
+                for (int i = 0; i < prefix; i++) {
+                    IdList list = lists.get(i);
+                    for (int j = 0; j < list.size; j++) {
+                        shared.computeIfAbsent(list.ids[j], k -> new int[1])[0]++;
+                    }
+                }
+                for (Map.Entry<Long, int[]> e : shared.entrySet()) {
+                    int count = e.getValue()[0];
+                    long[] itemTrigrams = entries.get(e.getKey());
+                    for (int i = prefix; i < lists.size() && count + lists.size() - i >= required; i++) {
+                        if (lists.get(i).contains(e.getKey())) count++;
+                    }
+                    if (count < required) continue;
+                    double containment = (double) count / query.length;
+                    double similarity = (double) count / (query.length + itemTrigrams.length - count);
+                    hits.add(new Hit(e.getKey(), containment, similarity));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            hits.sort((x, y) -> x.containment != y.containment
+                    ? Double.compare(y.containment, x.containment)
+                    : Double.compare(y.similarity, x.similarity));
+            for (Hit hit : hits) ranked.put(hit.id, hit.containment);
+            return ranked;
+        }
+
+        private void removeUnlocked(Long id) {
+            long[] trigrams = entries.remove(id);
+            if (trigrams == null) return;
+            for (long trigram : trigrams) {
+                IdList posting = postings.get(trigram);
+                if (posting == null) continue;
+                posting.remove(id);
+                if (posting.size == 0) postings.remove(trigram);
+            }
+        }
+    }
+
+    /** Sorted, growable array of item ids; ids arrive mostly in ascending order, so adds usually append */
+    private static final class IdList {
+        long[] ids = new long[4];
+        int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) return;
+                insert(-at - 1, id);
+            } else {
+                insert(size, id);
+            }
+        }
+
+        void remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) return;
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            if (size < ids.length / 4 && ids.length > 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+            }
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void insert(int at, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+    }
+
+    private static final class Hit {
+        final Long id;
+        final double containment;
+        final double similarity;
+
+        Hit(Long id, double containment, double similarity) {
+            this.id = id;
+            this.containment = containment;
+            this.similarity = similarity;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+-- Migration: normalized item keywords
+-- keyword_terms and item_keywords (with their indexes) are created by Hibernate
+-- with ddl-auto=update; existing keyword strings are copied into item_keywords
+-- by the application on the first start (ItemKeywordStore.backfill).
+
+-- Keyword strings grow past 255 characters with synonym expansion; ddl-auto
+-- does not change the type of existing columns
+
+-- For PostgreSQL
+ALTER TABLE lost_items ALTER COLUMN keywords TYPE TEXT;
+ALTER TABLE found_items ALTER COLUMN keywords TYPE TEXT;
+
+-- For H2 Database (if using H2 for testing)
+-- ALTER TABLE lost_items ALTER COLUMN keywords SET DATA TYPE TEXT;
+-- ALTER TABLE found_items ALTER COLUMN keywords SET DATA TYPE TEXT;
+
+-- Items are found by term, then grouped by item
+CREATE INDEX IF NOT EXISTS idx_item_keywords_term
+ON item_keywords(term_id, item_type, item_id);
@@ -0,0 +1,10 @@
+-- Migration: indexes for item search filters
+-- Search filters on status, category and subcategory in the database. These
+-- indexes are declared on the entities and created by Hibernate with
+-- ddl-auto=update; run this where the schema is managed by hand.
+
+-- For PostgreSQL and H2
+CREATE INDEX IF NOT EXISTS idx_lost_items_status_category
+ON lost_items(status, category, subcategory);
+CREATE INDEX IF NOT EXISTS idx_found_items_status_category
+ON found_items(status, category, subcategory);
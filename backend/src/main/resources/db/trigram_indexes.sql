@@ -0,0 +1,19 @@
+-- Migration: trigram indexes for item title/description search
+-- The application creates these itself at startup (TrigramIndex) when the
+-- database user may create the extension; otherwise run this as a superuser.
+-- With these indexes in place, fuzzy search queries them with
+-- word_similarity() / <% instead of building the in-memory trigram index.
+
+-- For PostgreSQL
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_lost_items_title_trgm
+ON lost_items USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_lost_items_description_trgm
+ON lost_items USING gin (lower(description) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_found_items_title_trgm
+ON found_items USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_found_items_description_trgm
+ON found_items USING gin (lower(description) gin_trgm_ops);
+
+-- H2 has no trigram indexes; use the in-memory index only
@@ -0,0 +1,113 @@
+package neiu.lostfound.service;
+
+import neiu.lostfound.config.StopWordsProvider;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Tokenizing cost per item (title and description) of {@link KeywordTokenizer}
+ * against the lowercase/split/stream pipeline KeywordProcessor used before it.
+ * Spell correction and synonym expansion are left out, they are the same for
+ * both. Run {@link #main} from the IDE, or after {@code mvn test-compile}:
+ *
+ * <pre>
+ * java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     org.openjdk.jmh.Main KeywordTokenizerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeywordTokenizerBenchmark {
+    private static final int ITEMS = 2000;
+    private static final String[] WORDS = {
+            "black", "leather", "wallet", "iPhone", "charger", "USB-C", "keys", "keychain", "blue", "backpack",
+            "North", "Face", "water", "bottle", "Hydro", "Flask", "student", "ID", "card", "NEIU", "library",
+            "2nd", "floor", "near", "the", "printers", "left", "on", "a", "table", "in", "room", "B-141",
+            "silver", "ring", "with", "small", "stone", "glasses", "case", "AirPods", "Pro", "scarf", "umbrella",
+            "calculator", "TI-84", "notebook", "math", "101", "it", "was", "found", "by", "security", "desk"
+    };
+    private static final String[] PUNCTUATION = { " ", " ", " ", ", ", ". ", " - ", "! ", " (", ") ", "/" };
+
+    private Set<String> stopwords;
+    private KeywordTokenizer tokenizer;
+    private String[][] items;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        StopWordsProvider provider = new StopWordsProvider();
+        provider.loadStopwords();
+        stopwords = provider.getStopwords();
+        tokenizer = new KeywordTokenizer(stopwords);
+
+        Random random = new Random(42);
+        items = new String[ITEMS][];
+        for (int i = 0; i < ITEMS; i++) {
+            items[i] = new String[] { text(random, 3 + random.nextInt(4)), text(random, 20 + random.nextInt(40)) };
+        }
+        // Both pipelines must produce the same tokens for the comparison to mean anything
+        for (String[] item : items) {
+            if (!splitAndStream(item).equals(keywordTokenizer(item))) {
+                throw new IllegalStateException("Token sets differ for " + Arrays.toString(item));
+            }
+        }
+    }
+
+    @Benchmark
+    public Set<String> splitAndStream() {
+        return splitAndStream(nextItem());
+    }
+
+    @Benchmark
+    public Set<String> keywordTokenizer() {
+        return keywordTokenizer(nextItem());
+    }
+
+    /** KeywordProcessor.process up to spell correction, before KeywordTokenizer */
+    private Set<String> splitAndStream(String... texts) {
+        return Arrays.stream(texts)
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .flatMap(t -> Arrays.stream(t.split("\\W+")))
+                .filter(w -> w.length() > 2 && !stopwords.contains(w))
+                .collect(Collectors.toSet());
+    }
+
+    /** KeywordProcessor.process up to spell correction, as it is now */
+    private Set<String> keywordTokenizer(String... texts) {
+        Set<String> keywords = new HashSet<>();
+        tokenizer.tokenize((buffer, length) -> keywords.add(new String(buffer, 0, length)), texts);
+        return keywords;
+    }
+
+    private String[] nextItem() {
+        String[] item = items[next];
+        next = (next + 1) % ITEMS;
+        return item;
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(PUNCTUATION[random.nextInt(PUNCTUATION.length)]);
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(KeywordTokenizerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
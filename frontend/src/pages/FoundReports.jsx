@@ -6,8 +6,15 @@ import { formatDate } from "../utils/dateUtils";
 import "./found.css";
 
 
+// Search results are paged by the backend and shown a page at a time
+const PAGE_SIZE = 100;
+
 export default function FoundReports() {
   const [items, setItems] = useState([]);
+  const [totalItems, setTotalItems] = useState(0);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
+  const [filters, setFilters] = useState(""); // query string of the shown results, without page and size
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
   const [searchTerm, setSearchTerm] = useState("");
@@ -21,12 +28,21 @@ export default function FoundReports() {
   const [confirmMsg, setConfirmMsg] = useState("");
   const navigate = useNavigate();
 
+  const showPage = (data, shownFilters) => {
+    setItems(data.items);
+    setTotalItems(data.totalElements);
+    setPage(data.page);
+    setTotalPages(data.totalPages);
+    setFilters(shownFilters);
+  };
+
   const loadFoundItems = async () => {
     try {
       setLoading(true);
       setError("");
-      const data = await api(`/items/found?status=${statusFilter}`);
-      setItems(data);
+      const statusFilters = `status=${statusFilter}`;
+      const data = await api(`/items/found?${statusFilters}&page=0&size=${PAGE_SIZE}`);
+      showPage(data, statusFilters);
     } catch (err) {
       // Check if it's a session expiry or authentication error
       if (err.status === 401 || err.status === 403 || err.message?.includes("Unauthorized") || err.message?.includes("authentication")) {
@@ -75,13 +91,30 @@ export default function FoundReports() {
       if (statusFilter) {
         params.append('status', statusFilter);
       }
-      const url = `/items/found${params.toString() ? `?${params.toString()}` : ''}`;
+      await loadPage(params.toString(), 0);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  const goToPage = async (pageNumber) => {
+    setLoading(true);
+    setError("");
+    try {
+      await loadPage(filters, pageNumber);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  // Fetch one page of results for the given filters
+  const loadPage = async (pageFilters, pageNumber) => {
+    try {
+      const url = `/items/found?${pageFilters}&page=${pageNumber}&size=${PAGE_SIZE}`;
       const data = await api(url);
-      setItems(data);
+      showPage(data, pageFilters);
     } catch (err) {
       setError(err.message || "Search failed. Please try again.");
-    } finally {
-      setLoading(false);
     }
   };
 
@@ -247,6 +280,15 @@ export default function FoundReports() {
             ))}
           </div>
         )}
+        {totalPages > 1 && (
+          <div className="pagination">
+            <button type="button" className={`pagination-btn${page === 0 ? " disabled" : ""}`}
+              disabled={page === 0} onClick={() => goToPage(page - 1)}>Previous</button>
+            <span className="pagination-info">Page {page + 1} of {totalPages} ({totalItems} reports)</span>
+            <button type="button" className={`pagination-btn${page + 1 >= totalPages ? " disabled" : ""}`}
+              disabled={page + 1 >= totalPages} onClick={() => goToPage(page + 1)}>Next</button>
+          </div>
+        )}
       </div>
     </div>
   );
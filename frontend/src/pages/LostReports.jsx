@@ -7,8 +7,15 @@ import { formatDate } from "../utils/dateUtils";
 import "./lost.css";
 
 
+// Search results are paged by the backend and shown a page at a time
+const PAGE_SIZE = 100;
+
 export default function LostReports() {
   const [items, setItems] = useState([]);
+  const [totalItems, setTotalItems] = useState(0);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
+  const [filters, setFilters] = useState(""); // query string of the shown results, without page and size
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
   const [searchTerm, setSearchTerm] = useState("");
@@ -18,16 +25,30 @@ export default function LostReports() {
   const [statusFilter, setStatusFilter] = useState("OPEN"); // OPEN, MATCHED, RETURNED, ALL
   const navigate = useNavigate();
 
+  const showPage = (data, shownFilters) => {
+    setItems(data.items);
+    setTotalItems(data.totalElements);
+    setPage(data.page);
+    setTotalPages(data.totalPages);
+    setFilters(shownFilters);
+  };
+
   const loadLostItems = async () => {
     try {
       setLoading(true);
       setError("");
       const userRole = getRole();
       // For USER role, load only their own reports; for ADMIN, load all reports
-      const endpoint = userRole === "USER" ? "/items/lost/my" : "/items/lost";
-      const url = endpoint + (userRole === "ADMIN" ? `?status=${statusFilter}` : "");
-      const data = await api(url);
-      setItems(data);
+      if (userRole === "USER") {
+        const data = await api("/items/lost/my");
+        setItems(data);
+        setTotalItems(data.length);
+        setTotalPages(0);
+        return;
+      }
+      const statusFilters = `status=${statusFilter}`;
+      const data = await api(`/items/lost?${statusFilters}&page=0&size=${PAGE_SIZE}`);
+      showPage(data, statusFilters);
     } catch (err) {
       // Check if it's a session expiry or authentication error
       if (err.isAuthError || err.status === 401) {
@@ -80,10 +101,28 @@ export default function LostReports() {
       if (statusFilter) {
         params.append('status', statusFilter);
       }
+      await loadPage(params.toString(), 0);
+    } finally {
+      setLoading(false);
+    }
+  };
 
-      const url = `/items/lost${params.toString() ? `?${params.toString()}` : ''}`;
+  const goToPage = async (pageNumber) => {
+    setLoading(true);
+    setError("");
+    try {
+      await loadPage(filters, pageNumber);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  // Fetch one page of results for the given filters
+  const loadPage = async (pageFilters, pageNumber) => {
+    try {
+      const url = `/items/lost?${pageFilters}&page=${pageNumber}&size=${PAGE_SIZE}`;
       const data = await api(url);
-      setItems(data);
+      showPage(data, pageFilters);
     } catch (err) {
       if (err.isAuthError || err.status === 401) {
         alert("Session expired. Please login again.");
@@ -91,8 +130,6 @@ export default function LostReports() {
         return;
       }
       setError(err.message || "Search failed. Please try again.");
-    } finally {
-      setLoading(false);
     }
   };
 
@@ -197,6 +234,15 @@ export default function LostReports() {
             ))}
           </div>
         )}
+        {totalPages > 1 && (
+          <div className="pagination">
+            <button type="button" className={`pagination-btn${page === 0 ? " disabled" : ""}`}
+              disabled={page === 0} onClick={() => goToPage(page - 1)}>Previous</button>
+            <span className="pagination-info">Page {page + 1} of {totalPages} ({totalItems} reports)</span>
+            <button type="button" className={`pagination-btn${page + 1 >= totalPages ? " disabled" : ""}`}
+              disabled={page + 1 >= totalPages} onClick={() => goToPage(page + 1)}>Next</button>
+          </div>
+        )}
       </div>
     </div>
   );